@@ -0,0 +1,80 @@
+package com.example.wallet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and flags regressions
+ * Usage: JmhResultComparator baseline.json current.json [threshold-percent]
+ * Exits with status 1 when any benchmark got worse by more than the threshold (default 10%)
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    record Result(String mode, double score, double error, String unit) {
+        /**
+         * Relative change in percent, positive when the result got worse
+         */
+        double regressionPercent(Result baseline) {
+            double change = (score - baseline.score) / baseline.score * 100;
+            // Throughput is better when higher; time-based modes are better when lower
+            return "thrpt".equals(mode) ? -change : change;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparator baseline.json current.json [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : new TreeMap<>(current).entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.score(), "new");
+                continue;
+            }
+            double regression = now.regressionPercent(before);
+            // Changes inside the combined error margins are noise, not regressions
+            boolean significant = Math.abs(now.score() - before.score()) > now.error() + before.error();
+            boolean regressed = significant && regression > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), before.score(), now.score(),
+                    (now.score() - before.score()) / before.score() * 100, now.unit(), regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble();
+            results.put(key.toString(), new Result(run.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.wallet.domain;
+
+import com.example.wallet.domain.blockscout.BlockscoutTransactionResponse;
+import com.example.wallet.domain.eth.TokenTransferListResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson deserialization of Blockscout pages, using the ObjectMapper configuration RestTemplate gets from Spring
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockscoutDeserializationBenchmark {
+
+    /** Items per page; Blockscout returns 50 */
+    @Param({"1", "50"})
+    public int items;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private byte[] transactionsPage;
+    private byte[] tokenTransfersPage;
+
+    @Setup
+    public void setUp() {
+        transactionsPage = page(TRANSACTION);
+        tokenTransfersPage = page(TOKEN_TRANSFER);
+    }
+
+    @Benchmark
+    public BlockscoutTransactionResponse transactions() throws IOException {
+        return objectMapper.readValue(transactionsPage, BlockscoutTransactionResponse.class);
+    }
+
+    @Benchmark
+    public TokenTransferListResponse tokenTransfers() throws IOException {
+        return objectMapper.readValue(tokenTransfersPage, TokenTransferListResponse.class);
+    }
+
+    private byte[] page(String item) {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(item.replace("$I", Integer.toString(i)));
+        }
+        json.append("],\"next_page_params\":{\"block_number\":20000000,\"index\":12,\"items_count\":50}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final String ADDRESS = "{\"ens_domain_name\":null,\"hash\":\"0x95222290DD7278Aa3Ddd389Cc1E1d165CC4BAfe5\","
+            + "\"implementations\":[],\"is_contract\":false,\"is_scam\":false,\"is_verified\":false,\"metadata\":null,"
+            + "\"name\":null,\"private_tags\":[],\"proxy_type\":null,\"public_tags\":[],\"watchlist_names\":[]}";
+
+    private static final String TRANSACTION = "{\"priority_fee\":\"2474765125035\",\"raw_input\":\"0x\","
+            + "\"result\":\"success\",\"hash\":\"0x5f3c8d2b4e7a91$I0000000000000000000000000000000000000000000000000\","
+            + "\"max_fee_per_gas\":\"12456789012\",\"revert_reason\":null,\"confirmation_duration\":[0,12000],"
+            + "\"transaction_burnt_fee\":\"172937000000000\",\"type\":2,\"token_transfers_overflow\":null,"
+            + "\"confirmations\":1024,\"position\":$I,\"max_priority_fee_per_gas\":\"117845117\","
+            + "\"transaction_tag\":null,\"created_contract\":null,\"value\":\"15000000000000000\","
+            + "\"from\":" + ADDRESS + ",\"gas_used\":\"21000\",\"status\":\"ok\",\"to\":" + ADDRESS + ","
+            + "\"authorization_list\":[],\"method\":null,\"fee\":{\"type\":\"actual\",\"value\":\"175411765125035\"},"
+            + "\"actions\":[],\"gas_limit\":\"21000\",\"gas_price\":\"8352941196\",\"decoded_input\":null,"
+            + "\"token_transfers\":null,\"base_fee_per_gas\":\"8235096079\",\"timestamp\":\"2024-06-01T12:00:23.000000Z\","
+            + "\"nonce\":$I,\"historic_exchange_rate\":\"3812.45\",\"transaction_types\":[\"coin_transfer\"],"
+            + "\"exchange_rate\":\"3790.12\",\"block_number\":20000000,\"has_error_in_internal_transactions\":false}";
+
+    private static final String TOKEN_TRANSFER = "{\"block_hash\":\"0x8f1e7d6c5b4a39281706f5e4d3c2b1a09f8e7d6c5b4a39281706f5e4d3c2b1a0\","
+            + "\"block_number\":20000000,\"from\":" + ADDRESS + ",\"log_index\":$I,\"method\":\"transfer\","
+            + "\"timestamp\":\"2024-06-01T12:00:23.000000Z\",\"to\":" + ADDRESS + ","
+            + "\"token\":{\"address\":\"0xdAC17F958D2ee523a2206206994597C13D831ec7\",\"circulating_market_cap\":\"112000000000.0\","
+            + "\"decimals\":\"6\",\"exchange_rate\":\"1.0\",\"holders\":\"6200000\",\"icon_url\":null,\"name\":\"Tether USD\","
+            + "\"symbol\":\"USDT\",\"type\":\"ERC-20\",\"total_supply\":\"51998545629424981\"},"
+            + "\"total\":{\"decimals\":\"6\",\"value\":\"2500000000\"},"
+            + "\"transaction_hash\":\"0x5f3c8d2b4e7a91$I0000000000000000000000000000000000000000000000000\",\"type\":\"token_transfer\"}";
+}
@@ -0,0 +1,103 @@
+package com.example.wallet.infra.btc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the BTC address parsing BtcClient uses with the String + readTree approach it replaced:
+ * Esplora chain_stats, BlockCypher address fields and Blockchain.info's plain-text balance
+ * Run with: mvn -Pjmh verify
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BtcBalanceParsingBenchmark {
+
+    /** Number of entries in the BlockCypher txrefs array, which follows the wanted fields */
+    @Param({"0", "50", "500"})
+    public int txCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] esploraBody;
+    private byte[] blockCypherBody;
+    private byte[] addressBalanceBody;
+
+    @Setup
+    public void setUp() {
+        esploraBody = ("{\"address\":\"bc1qxy2kgdygjrsqtzq2n0yrf2493p83kkfjhx0wlh\","
+                + "\"chain_stats\":{\"funded_txo_count\":12,\"funded_txo_sum\":1500000,"
+                + "\"spent_txo_count\":10,\"spent_txo_sum\":1200000,\"tx_count\":22},"
+                + "\"mempool_stats\":{\"funded_txo_count\":0,\"funded_txo_sum\":0,"
+                + "\"spent_txo_count\":0,\"spent_txo_sum\":0,\"tx_count\":0}}").getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder json = new StringBuilder("{\"address\":\"1AJbsFZ64EpEfS5UAjAfcUG8pH8Jn3rn1F\",")
+                .append("\"total_received\":2000000,\"total_sent\":500000,\"balance\":1500000,")
+                .append("\"unconfirmed_balance\":0,\"final_balance\":1500000,\"n_tx\":").append(txCount)
+                .append(",\"unconfirmed_n_tx\":0,\"final_n_tx\":").append(txCount).append(",\"txrefs\":[");
+        for (int i = 0; i < txCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"tx_hash\":\"").append(String.format("%064x", i)).append("\",\"block_height\":800000,")
+                    .append("\"tx_input_n\":-1,\"tx_output_n\":0,\"value\":90000,\"ref_balance\":1500000,")
+                    .append("\"spent\":false,\"confirmations\":12,\"confirmed\":\"2024-01-01T00:00:00Z\"}");
+        }
+        blockCypherBody = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        addressBalanceBody = "1500000".getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public String esploraTree() throws IOException {
+        JsonNode chainStats = objectMapper.readTree(new String(esploraBody, StandardCharsets.UTF_8)).get("chain_stats");
+        BigInteger funded = new BigInteger(chainStats.get("funded_txo_sum").asText());
+        BigInteger spent = new BigInteger(chainStats.get("spent_txo_sum").asText());
+        return funded.subtract(spent).toString();
+    }
+
+    @Benchmark
+    public String esploraStreaming() throws IOException {
+        return BtcJsonExtractor.chainStats(new ByteArrayInputStream(esploraBody)).balance().toString();
+    }
+
+    @Benchmark
+    public Map<String, String> blockCypherTree() throws IOException {
+        JsonNode root = objectMapper.readTree(new String(blockCypherBody, StandardCharsets.UTF_8));
+        Map<String, String> fields = new HashMap<>();
+        for (String field : BtcClient.BLOCKCYPHER_FIELDS) {
+            fields.put(field, root.get(field).asText());
+        }
+        return fields;
+    }
+
+    @Benchmark
+    public Map<String, String> blockCypherStreaming() throws IOException {
+        return BtcJsonExtractor.topLevelFields(new ByteArrayInputStream(blockCypherBody), BtcClient.BLOCKCYPHER_FIELDS);
+    }
+
+    @Benchmark
+    public String addressBalancePlainText() throws IOException {
+        return BtcClient.plainBalance(new ByteArrayInputStream(addressBalanceBody));
+    }
+}
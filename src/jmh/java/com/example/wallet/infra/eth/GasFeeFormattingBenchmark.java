@@ -0,0 +1,75 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.domain.eth.GasFeeSuggestion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing a GasFeeSuggestion: gwei formatting of the nine fee values, then the JSON response
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GasFeeFormattingBenchmark {
+
+    private static final double[] MULTIPLIERS = {1.1, 1.25, 1.5, 2.0};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BigDecimal baseFee = new BigDecimal("8235096079");
+    private final BigDecimal[] priorityFees = {
+        new BigDecimal("10000000"), new BigDecimal("117845117"), new BigDecimal("1000000000"), new BigDecimal("2474765125")
+    };
+    private GasFeeSuggestion suggestion;
+
+    @Setup
+    public void setUp() {
+        suggestion = build();
+    }
+
+    @Benchmark
+    public String formatGwei() {
+        return EthClient.formatGwei(baseFee);
+    }
+
+    @Benchmark
+    public GasFeeSuggestion buildSuggestion() {
+        return build();
+    }
+
+    @Benchmark
+    public String serializeSuggestion() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(suggestion);
+    }
+
+    private GasFeeSuggestion build() {
+        GasFeeSuggestion result = new GasFeeSuggestion();
+        result.setBaseFee(EthClient.formatGwei(baseFee));
+        GasFeeSuggestion.GasFeeDetail[] tiers = new GasFeeSuggestion.GasFeeDetail[MULTIPLIERS.length];
+        for (int tier = 0; tier < tiers.length; tier++) {
+            tiers[tier] = new GasFeeSuggestion.GasFeeDetail();
+            tiers[tier].setMaxFee(EthClient.formatGwei(baseFee.multiply(BigDecimal.valueOf(MULTIPLIERS[tier])).add(priorityFees[tier])));
+            tiers[tier].setMaxPriorityFee(EthClient.formatGwei(priorityFees[tier]));
+        }
+        result.setSlow(tiers[0]);
+        result.setAverage(tiers[1]);
+        result.setFast(tiers[2]);
+        result.setFastest(tiers[3]);
+        return result;
+    }
+}
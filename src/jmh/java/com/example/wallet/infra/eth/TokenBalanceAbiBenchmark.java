@@ -0,0 +1,56 @@
+package com.example.wallet.infra.eth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ABI work done per EthClient.getTokenBalance call: encoding balanceOf and, on a metadata cache miss,
+ * decoding the decimals/symbol/name results, all through Erc20Codec
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenBalanceAbiBenchmark {
+
+    private static final String WALLET = "0x95222290DD7278Aa3Ddd389Cc1E1d165CC4BAfe5";
+    private static final String BALANCE_RESULT = "0x000000000000000000000000000000000000000000000000000000e8d4a51000";
+    private static final String DECIMALS_RESULT = "0x0000000000000000000000000000000000000000000000000000000000000006";
+    private static final String SYMBOL_RESULT = "0x0000000000000000000000000000000000000000000000000000000000000020"
+            + "0000000000000000000000000000000000000000000000000000000000000004"
+            + "5553445400000000000000000000000000000000000000000000000000000000";
+    private static final String NAME_RESULT = "0x0000000000000000000000000000000000000000000000000000000000000020"
+            + "000000000000000000000000000000000000000000000000000000000000000a"
+            + "5465746865722055534400000000000000000000000000000000000000000000";
+
+    @Benchmark
+    public String encodeBalanceOf() {
+        return Erc20Codec.balanceOf(WALLET);
+    }
+
+    @Benchmark
+    public Object decodeBalanceOf() {
+        return Erc20Codec.decodeUint256(BALANCE_RESULT);
+    }
+
+    @Benchmark
+    public Object metadataMiss() {
+        // Metadata call data is constant, so a miss only costs decoding
+        return List.of(
+                Erc20Codec.decodeUint8(DECIMALS_RESULT),
+                Erc20Codec.decodeString(SYMBOL_RESULT),
+                Erc20Codec.decodeString(NAME_RESULT));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.wallet.web;
+
+import com.example.wallet.config.AuthProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of ApiAuthFilter for the paths it distinguishes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiAuthFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private ApiAuthFilter enabledFilter;
+    private ApiAuthFilter disabledFilter;
+    private MockHttpServletRequest healthRequest;
+    private MockHttpServletRequest authorizedRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        AuthProperties enabled = new AuthProperties();
+        enabled.setEnabled(true);
+        enabled.setAndroidKey("android-key");
+        enabled.setIosKey("ios-key");
+        enabledFilter = new ApiAuthFilter(enabled);
+        disabledFilter = new ApiAuthFilter(new AuthProperties());
+
+        healthRequest = new MockHttpServletRequest("GET", "/v1/health");
+        authorizedRequest = new MockHttpServletRequest("GET", "/v1/eth/mainnet/0x95222290DD7278Aa3Ddd389Cc1E1d165CC4BAfe5/balance");
+        authorizedRequest.addHeader("X-Client-Type", "ios");
+        authorizedRequest.addHeader("X-Client-Key", "ios-key");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void healthBypass() throws ServletException, IOException {
+        enabledFilter.doFilter(healthRequest, response, NO_OP);
+    }
+
+    @Benchmark
+    public void authDisabled() throws ServletException, IOException {
+        disabledFilter.doFilter(authorizedRequest, response, NO_OP);
+    }
+
+    @Benchmark
+    public void authorizedKey() throws ServletException, IOException {
+        enabledFilter.doFilter(authorizedRequest, response, NO_OP);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.wallet.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Open-model load generator
+ * Requests are started on a fixed schedule at the target rate, cycling through the scenarios, whether or not
+ * earlier ones have completed. Latency is measured from the scheduled start, so a stalled server shows up in
+ * the tail percentiles instead of silently lowering the offered load (coordinated omission)
+ */
+class LoadDriver {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * One endpoint under load; the request is built from a rotating index so calls spread over many addresses
+     * A streaming scenario is an open-ended Server-Sent Events response: its latency is the time to the first
+     * event, after which the stream is closed
+     */
+    record Scenario(String name, IntFunction<HttpRequest> request, boolean streaming) {
+        Scenario(String name, IntFunction<HttpRequest> request) {
+            this(name, request, false);
+        }
+    }
+
+    private final HttpClient httpClient;
+    private final List<Scenario> scenarios;
+
+    LoadDriver(HttpClient httpClient, List<Scenario> scenarios) {
+        this.httpClient = httpClient;
+        this.scenarios = List.copyOf(scenarios);
+    }
+
+    /**
+     * Offer load for the given duration and wait for the requests in flight to finish
+     *
+     * @param rps total requests per second over all scenarios
+     * @param duration how long to keep starting requests
+     * @return the recorded samples per scenario, in scenario order
+     */
+    Map<String, Samples> run(double rps, Duration duration) {
+        Map<String, Samples> samples = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> samples.put(scenario.name(), new Samples()));
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long scheduled = start;
+            for (int i = 0; scheduled < end; i++, scheduled = start + i * intervalNanos) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Scenario scenario = scenarios.get(i % scenarios.size());
+                HttpRequest request = scenario.request().apply(i / scenarios.size());
+                Samples recorder = samples.get(scenario.name());
+                long intendedStart = scheduled;
+                executor.execute(() -> send(request, scenario.streaming(), recorder, intendedStart));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        samples.values().forEach(recorder -> recorder.elapsedNanos = elapsed);
+        return samples;
+    }
+
+    private void send(HttpRequest request, boolean streaming, Samples recorder, long intendedStart) {
+        int status;
+        try {
+            HttpRequest timed = HttpRequest.newBuilder(request, (name, value) -> true).timeout(REQUEST_TIMEOUT).build();
+            status = streaming ? firstEvent(timed)
+                    : httpClient.send(timed, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            status = 0;
+        }
+        recorder.record(System.nanoTime() - intendedStart, status);
+    }
+
+    /**
+     * Wait for the first event of a stream and close it
+     *
+     * @return the response status, or 0 if a successful stream ended without any event
+     */
+    private int firstEvent(HttpRequest request) throws Exception {
+        HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        // Closing the line stream cancels the response, so the server sees the client go away
+        try (Stream<String> lines = response.body()) {
+            boolean received = lines.anyMatch(line -> line.startsWith("data:"));
+            int status = response.statusCode();
+            return received || status < 200 || status >= 300 ? status : 0;
+        }
+    }
+
+    /**
+     * Latencies and outcomes of one scenario
+     */
+    static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> statuses = new LinkedHashMap<>();
+        private volatile long elapsedNanos;
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            statuses.merge(status, 1, Integer::sum);
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+
+        /**
+         * Response counts by HTTP status, with 0 for requests that got no response
+         */
+        synchronized Map<Integer, Integer> statuses() {
+            return new LinkedHashMap<>(statuses);
+        }
+
+        /**
+         * Latencies in nanoseconds, sorted ascending
+         */
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        long elapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+}
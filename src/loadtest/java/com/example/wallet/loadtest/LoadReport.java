@@ -0,0 +1,119 @@
+package com.example.wallet.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a load test run: throughput and latency percentiles per endpoint and overall
+ */
+record LoadReport(
+    @JsonProperty("thread_mode") String threadMode,
+    @JsonProperty("target_rps") double targetRps,
+    @JsonProperty("duration_seconds") double durationSeconds,
+    @JsonProperty("upstream_latency_ms") long upstreamLatencyMs,
+    @JsonProperty("upstream_error_rate") double upstreamErrorRate,
+    @JsonProperty("total") EndpointStats total,
+    @JsonProperty("endpoints") List<EndpointStats> endpoints
+) {
+
+    /**
+     * Statistics of one endpoint; latencies are in milliseconds
+     */
+    record EndpointStats(
+        @JsonProperty("name") String name,
+        @JsonProperty("requests") int requests,
+        @JsonProperty("errors") int errors,
+        @JsonProperty("statuses") Map<Integer, Integer> statuses,
+        @JsonProperty("throughput_rps") double throughputRps,
+        @JsonProperty("p50_ms") double p50Ms,
+        @JsonProperty("p99_ms") double p99Ms,
+        @JsonProperty("p999_ms") double p999Ms,
+        @JsonProperty("max_ms") double maxMs
+    ) {}
+
+    static LoadReport of(String threadMode, double targetRps, long upstreamLatencyMs, double upstreamErrorRate,
+                         Map<String, LoadDriver.Samples> samples) {
+        List<EndpointStats> endpoints = new ArrayList<>();
+        List<long[]> all = new ArrayList<>();
+        int requests = 0;
+        int errors = 0;
+        long elapsedNanos = 0;
+        for (Map.Entry<String, LoadDriver.Samples> entry : samples.entrySet()) {
+            LoadDriver.Samples recorder = entry.getValue();
+            long[] sorted = recorder.sortedLatencies();
+            endpoints.add(stats(entry.getKey(), sorted, recorder.errors(), recorder.statuses(), recorder.elapsedNanos()));
+            all.add(sorted);
+            requests += sorted.length;
+            errors += recorder.errors();
+            elapsedNanos = Math.max(elapsedNanos, recorder.elapsedNanos());
+        }
+        long[] merged = new long[requests];
+        int offset = 0;
+        for (long[] latencies : all) {
+            System.arraycopy(latencies, 0, merged, offset, latencies.length);
+            offset += latencies.length;
+        }
+        Arrays.sort(merged);
+        EndpointStats total = stats("total", merged, errors, Map.of(), elapsedNanos);
+        return new LoadReport(threadMode, targetRps, elapsedNanos / 1e9, upstreamLatencyMs, upstreamErrorRate,
+                total, endpoints);
+    }
+
+    /**
+     * Render the report as a fixed-width table
+     */
+    String table() {
+        StringBuilder out = new StringBuilder(String.format("%n%-28s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint (" + threadMode + ")", "requests", "errors", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        endpoints.forEach(stats -> row(out, stats));
+        row(out, total);
+        return out.toString();
+    }
+
+    /**
+     * Write the report as JSON, creating the directory if needed
+     */
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+    }
+
+    private static void row(StringBuilder out, EndpointStats stats) {
+        out.append(String.format("%-28s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", stats.name(), stats.requests(),
+                stats.errors(), stats.throughputRps(), stats.p50Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs()));
+    }
+
+    private static EndpointStats stats(String name, long[] sorted, int errors, Map<Integer, Integer> statuses,
+                                       long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        return new EndpointStats(name, sorted.length, errors, statuses,
+                seconds > 0 ? sorted.length / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]));
+    }
+
+    /**
+     * Nearest-rank percentile of sorted latencies, in milliseconds
+     */
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return millis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.wallet.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JSON REST stub on the JDK HTTP server, used to stand in for Blockscout and Esplora
+ * GET paths are matched against regular expressions in registration order; every response can be
+ * delayed and a random fraction of them answered with HTTP 503
+ */
+class StubHttpServer implements AutoCloseable {
+    private final HttpServer server;
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final AtomicLong requests = new AtomicLong();
+    private volatile long delayMs;
+    private volatile double errorRate;
+
+    StubHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Answer GET requests whose path matches the pattern with the JSON body built from the match
+     */
+    StubHttpServer route(String pathPattern, Function<Matcher, String> body) {
+        routes.add(new Route(Pattern.compile(pathPattern), body));
+        return this;
+    }
+
+    void setDelayMs(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            for (Route route : routes) {
+                Matcher matcher = route.pattern().matcher(path);
+                if (matcher.matches()) {
+                    byte[] bytes = route.body().apply(matcher).getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, bytes.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(bytes);
+                    }
+                    return;
+                }
+            }
+            exchange.sendResponseHeaders(404, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Route(Pattern pattern, Function<Matcher, String> body) {}
+}
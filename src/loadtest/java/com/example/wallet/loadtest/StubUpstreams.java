@@ -0,0 +1,290 @@
+package com.example.wallet.loadtest;
+
+import com.example.wallet.infra.eth.StubJsonRpcServer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Local stand-ins for every upstream the service talks to: an Ethereum JSON-RPC node, the Blockscout v2 API
+ * and an Esplora API. Responses are canned but shaped like the real ones, so the full client, decoding
+ * and caching paths run; latency and error injection apply to all three
+ */
+class StubUpstreams implements AutoCloseable {
+    static final String TOKEN = "0xdAC17F958D2ee523a2206206994597C13D831ec7";
+    // Blocks advance every 12 seconds like mainnet, so head-driven cache invalidation happens during a run
+    private static final long GENESIS_MILLIS = System.currentTimeMillis();
+    private static final long FIRST_BLOCK = 20_000_000L;
+    private static final String TX_HASH = "0x" + "5f3c8d2b4e7a91".repeat(4) + "5f3c8d2b";
+    private static final String BLOCK_HASH = "0x" + "8f1e7d6c5b4a3928".repeat(4);
+    private static final int PAGE_ITEMS = 50;
+
+    private final StubJsonRpcServer rpc;
+    private final StubHttpServer blockscout;
+    private final StubHttpServer esplora;
+
+    StubUpstreams() throws IOException {
+        rpc = new StubJsonRpcServer();
+        blockscout = new StubHttpServer();
+        esplora = new StubHttpServer();
+        stubRpc();
+        stubBlockscout();
+        stubEsplora();
+    }
+
+    String rpcUrl() {
+        return rpc.url();
+    }
+
+    /**
+     * Base URL in the form app.blockscout expects, i.e. ending in /api/v2/addresses
+     */
+    String blockscoutUrl() {
+        return blockscout.url() + "/api/v2/addresses";
+    }
+
+    String esploraUrl() {
+        return esplora.url();
+    }
+
+    void setDelayMs(long delayMs) {
+        rpc.setDelayMs(delayMs);
+        blockscout.setDelayMs(delayMs);
+        esplora.setDelayMs(delayMs);
+    }
+
+    void setErrorRate(double errorRate) {
+        rpc.setErrorRate(errorRate);
+        blockscout.setErrorRate(errorRate);
+        esplora.setErrorRate(errorRate);
+    }
+
+    /**
+     * Requests received by the REST stubs, for the report
+     */
+    Map<String, Long> requestCounts() {
+        return Map.of("blockscout", blockscout.requests(), "esplora", esplora.requests());
+    }
+
+    @Override
+    public void close() {
+        rpc.close();
+        blockscout.close();
+        esplora.close();
+    }
+
+    private void stubRpc() {
+        rpc.respond("eth_chainId", "0x1")
+                .respond("eth_blockNumber", params -> hex(head()))
+                .respond("eth_getBalance", "0xde0b6b3a7640000")
+                .respond("eth_getTransactionCount", "0x2a")
+                .respond("eth_gasPrice", "0x3b9aca00")
+                .respond("eth_feeHistory", params -> feeHistory())
+                .respond("eth_call", params -> ethCall(params.path(0)))
+                .respond("eth_sendRawTransaction", TX_HASH)
+                .respond("eth_getTransactionByHash", params -> transaction(params.path(0).asText()))
+                .respond("eth_getTransactionReceipt", params -> receipt(params.path(0).asText()));
+    }
+
+    private void stubBlockscout() {
+        blockscout.route("/api/v2/addresses/([^/]+)/transactions", match -> page(blockscoutTransaction(match.group(1))))
+                .route("/api/v2/addresses/([^/]+)/token-transfers", match -> page(blockscoutTokenTransfer(match.group(1))))
+                .route("/api/v2/tokens/([^/]+)", match -> blockscoutToken(match.group(1)))
+                .route("/api/v2/tokens", match -> "{\"items\":[" + blockscoutToken(TOKEN) + "],\"next_page_params\":null}");
+    }
+
+    private void stubEsplora() {
+        esplora.route("/address/([^/]+)", match -> "{\"address\":\"" + match.group(1) + "\","
+                        + "\"chain_stats\":{\"funded_txo_count\":3,\"funded_txo_sum\":150000,\"spent_txo_count\":1,"
+                        + "\"spent_txo_sum\":50000,\"tx_count\":3},"
+                        + "\"mempool_stats\":{\"funded_txo_count\":0,\"funded_txo_sum\":0,\"spent_txo_count\":0,"
+                        + "\"spent_txo_sum\":0,\"tx_count\":0}}")
+                .route("/address/([^/]+)/utxo", match -> "[" + utxo(1) + "," + utxo(2) + "]")
+                .route("/address/([^/]+)/txs/chain(/[0-9a-f]+)?", match -> match.group(2) != null ? "[]"
+                        : "[" + esploraTx(match.group(1), 2) + "," + esploraTx(match.group(1), 1) + "]")
+                .route("/address/([^/]+)/txs/mempool", match -> "[]");
+    }
+
+    private static long head() {
+        return FIRST_BLOCK + (System.currentTimeMillis() - GENESIS_MILLIS) / 12_000;
+    }
+
+    private static Map<String, Object> feeHistory() {
+        int blocks = 20;
+        List<String> baseFees = new ArrayList<>();
+        List<Double> gasUsedRatio = new ArrayList<>();
+        List<List<String>> rewards = new ArrayList<>();
+        for (int i = 0; i <= blocks; i++) {
+            baseFees.add(hex(8_000_000_000L + i * 10_000_000L));
+        }
+        for (int i = 0; i < blocks; i++) {
+            gasUsedRatio.add(0.5);
+            rewards.add(List.of(hex(50_000_000L), hex(100_000_000L), hex(1_000_000_000L), hex(2_000_000_000L)));
+        }
+        return Map.of("oldestBlock", hex(head() - blocks + 1), "baseFeePerGas", baseFees,
+                "gasUsedRatio", gasUsedRatio, "reward", rewards);
+    }
+
+    private static Map<String, Object> transaction(String hash) {
+        return Map.ofEntries(
+                Map.entry("hash", hash),
+                Map.entry("nonce", "0x2a"),
+                Map.entry("blockHash", BLOCK_HASH),
+                Map.entry("blockNumber", hex(FIRST_BLOCK)),
+                Map.entry("transactionIndex", "0x0"),
+                Map.entry("from", "0x95222290dd7278aa3ddd389cc1e1d165cc4bafe5"),
+                Map.entry("to", "0x388c818ca8b9251b393131c08a736a67ccb19297"),
+                Map.entry("value", "0x354a6ba7a18000"),
+                Map.entry("gasPrice", "0x1f1d7c68c"),
+                Map.entry("gas", "0x5208"),
+                Map.entry("input", "0x"),
+                Map.entry("v", "0x1"),
+                Map.entry("r", "0x1"),
+                Map.entry("s", "0x1"));
+    }
+
+    private static Map<String, Object> receipt(String hash) {
+        return Map.ofEntries(
+                Map.entry("transactionHash", hash),
+                Map.entry("transactionIndex", "0x0"),
+                Map.entry("blockHash", BLOCK_HASH),
+                Map.entry("blockNumber", hex(FIRST_BLOCK)),
+                Map.entry("cumulativeGasUsed", "0x5208"),
+                Map.entry("gasUsed", "0x5208"),
+                Map.entry("effectiveGasPrice", "0x1f1d7c68c"),
+                Map.entry("status", "0x1"),
+                Map.entry("from", "0x95222290dd7278aa3ddd389cc1e1d165cc4bafe5"),
+                Map.entry("to", "0x388c818ca8b9251b393131c08a736a67ccb19297"),
+                Map.entry("logs", List.of()),
+                Map.entry("logsBloom", "0x" + "0".repeat(512)),
+                Map.entry("type", "0x2"));
+    }
+
+    /**
+     * Answer an eth_call by function selector, including Multicall3 aggregate3 batches of the same functions
+     */
+    private static String ethCall(JsonNode transaction) {
+        String data = transaction.path("data").asText(transaction.path("input").asText("0x")).substring(2);
+        if (data.startsWith("82ad56cb")) {
+            return "0x" + aggregate3(data.substring(8));
+        }
+        return "0x" + callResult(data);
+    }
+
+    private static String callResult(String data) {
+        String selector = data.length() < 8 ? "" : data.substring(0, 8);
+        return switch (selector) {
+            case "70a08231" -> word(1_000_000_000L);             // balanceOf(address)
+            case "4d2301cc" -> word(1_000_000_000_000_000_000L); // getEthBalance(address)
+            case "313ce567" -> word(6);                          // decimals()
+            case "95d89b41" -> abiString("USDT");               // symbol()
+            case "06fdde03" -> abiString("Tether USD");         // name()
+            default -> "";
+        };
+    }
+
+    /**
+     * Decode the (address,bool,bytes)[] argument of aggregate3 and encode a (bool,bytes)[] result
+     * with one successful entry per call
+     */
+    private static String aggregate3(String args) {
+        int arrayStart = uintAt(args, 0);
+        int count = uintAt(args, arrayStart);
+        int elements = arrayStart + 32;
+        List<String> tuples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int tupleStart = elements + uintAt(args, elements + i * 32);
+            int dataStart = tupleStart + uintAt(args, tupleStart + 64);
+            int length = uintAt(args, dataStart);
+            String callData = args.substring((dataStart + 32) * 2, (dataStart + 32 + length) * 2);
+            String returnData = callResult(callData);
+            tuples.add(word(1) + word(64) + word(returnData.length() / 2) + returnData);
+        }
+        StringBuilder encoded = new StringBuilder(word(32)).append(word(count));
+        long offset = count * 32L;
+        for (String tuple : tuples) {
+            encoded.append(word(offset));
+            offset += tuple.length() / 2;
+        }
+        tuples.forEach(encoded::append);
+        return encoded.toString();
+    }
+
+    private static int uintAt(String hex, int byteOffset) {
+        return new BigInteger(hex.substring(byteOffset * 2, byteOffset * 2 + 64), 16).intValueExact();
+    }
+
+    private static String word(long value) {
+        String hex = Long.toHexString(value);
+        return "0".repeat(64 - hex.length()) + hex;
+    }
+
+    private static String abiString(String value) {
+        String hex = HexFormat.of().formatHex(value.getBytes(StandardCharsets.UTF_8));
+        return word(32) + word(hex.length() / 2) + hex + "0".repeat((64 - hex.length() % 64) % 64);
+    }
+
+    private static String hex(long value) {
+        return "0x" + Long.toHexString(value);
+    }
+
+    private static String page(String item) {
+        StringJoiner items = new StringJoiner(",", "{\"items\":[", "]");
+        for (int i = 0; i < PAGE_ITEMS; i++) {
+            items.add(item.replace("$I", Integer.toString(i)));
+        }
+        return items + ",\"next_page_params\":{\"block_number\":20000000,\"index\":12,\"items_count\":50}}";
+    }
+
+    private static String addressInfo(String hash) {
+        return "{\"hash\":\"" + hash + "\",\"is_contract\":false,\"is_verified\":false,\"name\":null,"
+                + "\"implementations\":[],\"public_tags\":[],\"private_tags\":[],\"watchlist_names\":[]}";
+    }
+
+    private static String blockscoutTransaction(String address) {
+        return "{\"hash\":\"0x5f3c8d2b4e7a91$I0000000000000000000000000000000000000000000000000\",\"result\":\"success\","
+                + "\"status\":\"ok\",\"type\":2,\"confirmations\":1024,\"position\":$I,\"nonce\":$I,"
+                + "\"value\":\"15000000000000000\",\"from\":" + addressInfo(address) + ",\"to\":"
+                + addressInfo("0x388C818CA8B9251b393131C08a736A67ccB19297") + ",\"gas_used\":\"21000\","
+                + "\"gas_limit\":\"21000\",\"gas_price\":\"8352941196\",\"fee\":{\"type\":\"actual\",\"value\":\"175411765125035\"},"
+                + "\"method\":null,\"raw_input\":\"0x\",\"timestamp\":\"2024-06-01T12:00:23.000000Z\","
+                + "\"transaction_types\":[\"coin_transfer\"],\"block_number\":20000000,"
+                + "\"has_error_in_internal_transactions\":false}";
+    }
+
+    private static String blockscoutTokenTransfer(String address) {
+        return "{\"block_hash\":\"" + BLOCK_HASH + "\",\"block_number\":20000000,\"from\":" + addressInfo(address)
+                + ",\"log_index\":$I,\"method\":\"transfer\",\"timestamp\":\"2024-06-01T12:00:23.000000Z\",\"to\":"
+                + addressInfo("0x388C818CA8B9251b393131C08a736A67ccB19297") + ",\"token\":{\"address\":\"" + TOKEN + "\","
+                + "\"decimals\":\"6\",\"name\":\"Tether USD\",\"symbol\":\"USDT\",\"type\":\"ERC-20\"},"
+                + "\"total\":{\"decimals\":\"6\",\"value\":\"2500000000\"},"
+                + "\"transaction_hash\":\"0x5f3c8d2b4e7a91$I0000000000000000000000000000000000000000000000000\","
+                + "\"type\":\"token_transfer\"}";
+    }
+
+    private static String blockscoutToken(String address) {
+        return "{\"address_hash\":\"" + address + "\",\"circulating_market_cap\":\"112000000000.0\",\"decimals\":\"6\","
+                + "\"exchange_rate\":\"1.0\",\"holders_count\":\"6200000\",\"icon_url\":null,\"name\":\"Tether USD\","
+                + "\"symbol\":\"USDT\",\"total_supply\":\"51998545629424981\",\"type\":\"ERC-20\",\"volume_24h\":\"1.0E10\"}";
+    }
+
+    private static String utxo(int index) {
+        return "{\"txid\":\"" + "ab".repeat(31) + "0" + index + "\",\"vout\":0,\"value\":50000,"
+                + "\"status\":{\"confirmed\":true,\"block_height\":850000,\"block_hash\":\"" + "00".repeat(32) + "\"}}";
+    }
+
+    private static String esploraTx(String address, int index) {
+        return "{\"txid\":\"" + "ab".repeat(31) + "0" + index + "\","
+                + "\"status\":{\"confirmed\":true,\"block_height\":" + (850000 + index) + "},"
+                + "\"vin\":[{\"txid\":\"" + "cd".repeat(32) + "\",\"vout\":0,\"prevout\":{\"scriptpubkey_address\":\"bc1qsender\",\"value\":60000}}],"
+                + "\"vout\":[{\"scriptpubkey_address\":\"" + address + "\",\"value\":50000},"
+                + "{\"scriptpubkey_address\":\"bc1qsender\",\"value\":9000}]}";
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.wallet.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives every EthController and BtcController endpoint at a fixed request rate against stub upstreams
+ * and reports latency percentiles and throughput to target/loadtest. Only runs with the loadtest profile;
+ * run it once with -Dloadtest.virtual-threads=true and once with false to compare the two threading modes
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.example.wallet=WARN")
+class WalletLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(WalletLoadTest.class);
+
+    private static final double RPS = Double.parseDouble(System.getProperty("loadtest.rps", "200"));
+    private static final long DURATION_SECONDS = Long.getLong("loadtest.duration-seconds", 30);
+    private static final long WARMUP_SECONDS = Long.getLong("loadtest.warmup-seconds", 5);
+    private static final int ADDRESSES = Integer.getInteger("loadtest.addresses", 500);
+    private static final long UPSTREAM_LATENCY_MS = Long.getLong("loadtest.upstream-latency-ms", 20);
+    private static final double UPSTREAM_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.upstream-error-rate", "0"));
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("loadtest.virtual-threads");
+    private static final Path REPORT_DIR = Path.of(System.getProperty("loadtest.report-dir", "target/loadtest"));
+
+    private static final String SECOND_TOKEN = "0xA0b86991c6218b36c1d19D4a2e9Eb0cE3606eB48";
+    // Not a valid transaction; the stub node accepts any payload longer than a hash
+    private static final String SIGNED_TRANSACTION = "0x02f8" + "ab".repeat(110);
+
+    private static final StubUpstreams upstreams = startUpstreams();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.rpc.eth.mainnet", upstreams::rpcUrl);
+        registry.add("app.blockscout.eth.mainnet", upstreams::blockscoutUrl);
+        registry.add("app.rpc.btc.mainnet", upstreams::esploraUrl);
+        registry.add("app.warmup.enabled", () -> "false");
+        registry.add("spring.threads.virtual.enabled", () -> Boolean.toString(VIRTUAL_THREADS));
+    }
+
+    @AfterAll
+    static void stopUpstreams() {
+        upstreams.close();
+    }
+
+    @Test
+    void allEndpointsUnderLoad() throws IOException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LoadDriver driver = new LoadDriver(httpClient, scenarios("http://127.0.0.1:" + port));
+
+        // Warm up without fault injection so JIT, connection pools and caches settle before measuring
+        driver.run(RPS, Duration.ofSeconds(WARMUP_SECONDS));
+        upstreams.setDelayMs(UPSTREAM_LATENCY_MS);
+        upstreams.setErrorRate(UPSTREAM_ERROR_RATE);
+        Map<String, LoadDriver.Samples> samples = driver.run(RPS, Duration.ofSeconds(DURATION_SECONDS));
+
+        String threadMode = VIRTUAL_THREADS ? "virtual" : "platform";
+        LoadReport report = LoadReport.of(threadMode, RPS, UPSTREAM_LATENCY_MS, UPSTREAM_ERROR_RATE, samples);
+        Path reportFile = REPORT_DIR.resolve("loadtest-" + threadMode + ".json");
+        report.write(reportFile);
+        logger.info("Load test report written to {}{}upstream requests: {}", reportFile, report.table(),
+                upstreams.requestCounts());
+
+        for (LoadReport.EndpointStats endpoint : report.endpoints()) {
+            assertTrue(endpoint.requests() > 0, endpoint.name() + " received no responses");
+            if (UPSTREAM_ERROR_RATE == 0) {
+                assertEquals(0, endpoint.errors(), endpoint.name() + " failed without injected upstream errors: "
+                        + endpoint.statuses());
+            }
+        }
+    }
+
+    private static List<LoadDriver.Scenario> scenarios(String baseUrl) {
+        String eth = baseUrl + "/v1/eth/mainnet";
+        String btc = baseUrl + "/v1/btc/mainnet";
+        String tokens = StubUpstreams.TOKEN + "," + SECOND_TOKEN;
+        return List.of(
+            get("eth tokens", i -> eth + "/tokens?tokenSymbol=USDT&type=ERC-20"),
+            get("eth token", i -> eth + "/tokens/" + StubUpstreams.TOKEN),
+            get("eth chainId", i -> eth + "/chainId"),
+            get("eth transactions", i -> eth + "/" + ethAddress(i) + "/transactions"),
+            get("eth transactions/raw", i -> eth + "/" + ethAddress(i) + "/transactions/raw"),
+            get("eth balance", i -> eth + "/" + ethAddress(i) + "/balance"),
+            post("eth balances", i -> eth + "/balances", i -> bulkBody(i, WalletLoadTest::ethAddress)),
+            get("eth token balance", i -> eth + "/tokens/" + StubUpstreams.TOKEN + "/balances/" + ethAddress(i)),
+            get("eth portfolio", i -> eth + "/" + ethAddress(i) + "/portfolio?tokens=" + tokens),
+            get("eth nonce", i -> eth + "/" + ethAddress(i) + "/nonce"),
+            get("eth gas-fees", i -> eth + "/gas-fees"),
+            post("eth transfer", i -> eth + "/transfer",
+                    i -> "{\"signed_transaction\":\"" + SIGNED_TRANSACTION + "\"}"),
+            post("eth token-transfer", i -> eth + "/token-transfer",
+                    i -> "{\"signed_transaction\":\"" + SIGNED_TRANSACTION + "\",\"token_address\":\"" + StubUpstreams.TOKEN + "\"}"),
+            get("eth tx", i -> eth + "/tx/" + String.format("0x%064x", i % ADDRESSES)),
+            get("eth config/rpc", i -> eth + "/config/rpc"),
+            get("eth token-transfers", i -> eth + "/" + ethAddress(i) + "/token-transfers?type=ERC-20"),
+            subscribe("eth subscribe", i -> eth + "/subscribe?addresses=" + ethAddress(i) + "," + ethAddress(i + 1)),
+            get("btc balance", i -> btc + "/" + btcAddress(i) + "/balance"),
+            post("btc balances", i -> btc + "/balances", i -> bulkBody(i, WalletLoadTest::btcAddress)),
+            get("btc address", i -> btc + "/" + btcAddress(i)),
+            get("btc utxos", i -> btc + "/" + btcAddress(i) + "/utxos"),
+            get("btc config/api", i -> btc + "/config/api"),
+            get("btc config/api/{apiType}", i -> btc + "/config/api/default")
+        );
+    }
+
+    private static String ethAddress(int i) {
+        return String.format("0x%040x", i % ADDRESSES + 1);
+    }
+
+    private static String btcAddress(int i) {
+        return String.format("bc1qload%032d", i % ADDRESSES);
+    }
+
+    /**
+     * Ten consecutive addresses, so bulk requests overlap with the single-address ones
+     */
+    private static String bulkBody(int i, IntFunction<String> address) {
+        return IntStream.range(i, i + 10)
+                .mapToObj(n -> "\"" + address.apply(n) + "\"")
+                .collect(Collectors.joining(",", "{\"addresses\":[", "]}"));
+    }
+
+    private static LoadDriver.Scenario get(String name, IntFunction<String> url) {
+        return new LoadDriver.Scenario(name, i -> HttpRequest.newBuilder(URI.create(url.apply(i))).GET().build());
+    }
+
+    /**
+     * Open a Server-Sent Events subscription; measured up to the first event, the initial balance
+     */
+    private static LoadDriver.Scenario subscribe(String name, IntFunction<String> url) {
+        return new LoadDriver.Scenario(name, i -> HttpRequest.newBuilder(URI.create(url.apply(i)))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build(), true);
+    }
+
+    private static LoadDriver.Scenario post(String name, IntFunction<String> url,
+                                            IntFunction<String> body) {
+        return new LoadDriver.Scenario(name, i -> HttpRequest.newBuilder(URI.create(url.apply(i)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.apply(i)))
+                .build());
+    }
+
+    private static StubUpstreams startUpstreams() {
+        try {
+            return new StubUpstreams();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -4,9 +4,11 @@ import com.example.wallet.config.AppProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties(AppProperties.class)
+@EnableScheduling
 public class WalletServerApplication {
     public static void main(String[] args) {
         SpringApplication.run(WalletServerApplication.class, args);
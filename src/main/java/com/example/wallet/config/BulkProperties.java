@@ -0,0 +1,41 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batching and fan-out settings for bulk balance queries
+ */
+@Component
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkProperties {
+    private int ethBatchSize = 100;
+    private int ethConcurrency = 4;
+    private int btcConcurrency = 8;
+    private int executorThreads = 32;
+
+    public int getEthBatchSize() {
+        return ethBatchSize;
+    }
+    public void setEthBatchSize(int ethBatchSize) {
+        this.ethBatchSize = ethBatchSize;
+    }
+    public int getEthConcurrency() {
+        return ethConcurrency;
+    }
+    public void setEthConcurrency(int ethConcurrency) {
+        this.ethConcurrency = ethConcurrency;
+    }
+    public int getBtcConcurrency() {
+        return btcConcurrency;
+    }
+    public void setBtcConcurrency(int btcConcurrency) {
+        this.btcConcurrency = btcConcurrency;
+    }
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+    public void setExecutorThreads(int executorThreads) {
+        this.executorThreads = executorThreads;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size and persistence settings for the in-process caches
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+    private TokenMetadata tokenMetadata = new TokenMetadata();
+    private Balance balance = new Balance();
+    private FinalizedTransactions finalizedTransactions = new FinalizedTransactions();
+    private UtxoSet utxoSet = new UtxoSet();
+
+    public static class TokenMetadata {
+        private long maxSize = 10_000;
+        private String persistPath;
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+        public String getPersistPath() {
+            return persistPath;
+        }
+        public void setPersistPath(String persistPath) {
+            this.persistPath = persistPath;
+        }
+    }
+
+    public static class Balance {
+        private long maxSize = 100_000;
+        private long ethMaxAgeSeconds = 60;
+        private long btcTtlSeconds = 10;
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+        public long getEthMaxAgeSeconds() {
+            return ethMaxAgeSeconds;
+        }
+        public void setEthMaxAgeSeconds(long ethMaxAgeSeconds) {
+            this.ethMaxAgeSeconds = ethMaxAgeSeconds;
+        }
+        public long getBtcTtlSeconds() {
+            return btcTtlSeconds;
+        }
+        public void setBtcTtlSeconds(long btcTtlSeconds) {
+            this.btcTtlSeconds = btcTtlSeconds;
+        }
+    }
+
+    public static class FinalizedTransactions {
+        private long maxSize = 50_000;
+        private int finalityDepth = 64;
+        private String spillPath;
+        private int spillCapacityMb = 64;
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+        public int getFinalityDepth() {
+            return finalityDepth;
+        }
+        public void setFinalityDepth(int finalityDepth) {
+            this.finalityDepth = finalityDepth;
+        }
+        public String getSpillPath() {
+            return spillPath;
+        }
+        public void setSpillPath(String spillPath) {
+            this.spillPath = spillPath;
+        }
+        public int getSpillCapacityMb() {
+            return spillCapacityMb;
+        }
+        public void setSpillCapacityMb(int spillCapacityMb) {
+            this.spillCapacityMb = spillCapacityMb;
+        }
+    }
+
+    public static class UtxoSet {
+        private long maxAddresses = 10_000;
+        private long refreshIntervalSeconds = 10;
+        private long expireAfterAccessMinutes = 30;
+        private int maxCatchUpPages = 4;
+
+        public long getMaxAddresses() {
+            return maxAddresses;
+        }
+        public void setMaxAddresses(long maxAddresses) {
+            this.maxAddresses = maxAddresses;
+        }
+        public long getRefreshIntervalSeconds() {
+            return refreshIntervalSeconds;
+        }
+        public void setRefreshIntervalSeconds(long refreshIntervalSeconds) {
+            this.refreshIntervalSeconds = refreshIntervalSeconds;
+        }
+        public long getExpireAfterAccessMinutes() {
+            return expireAfterAccessMinutes;
+        }
+        public void setExpireAfterAccessMinutes(long expireAfterAccessMinutes) {
+            this.expireAfterAccessMinutes = expireAfterAccessMinutes;
+        }
+        public int getMaxCatchUpPages() {
+            return maxCatchUpPages;
+        }
+        public void setMaxCatchUpPages(int maxCatchUpPages) {
+            this.maxCatchUpPages = maxCatchUpPages;
+        }
+    }
+
+    public TokenMetadata getTokenMetadata() {
+        return tokenMetadata;
+    }
+    public void setTokenMetadata(TokenMetadata tokenMetadata) {
+        this.tokenMetadata = tokenMetadata;
+    }
+    public Balance getBalance() {
+        return balance;
+    }
+    public void setBalance(Balance balance) {
+        this.balance = balance;
+    }
+    public FinalizedTransactions getFinalizedTransactions() {
+        return finalizedTransactions;
+    }
+    public void setFinalizedTransactions(FinalizedTransactions finalizedTransactions) {
+        this.finalizedTransactions = finalizedTransactions;
+    }
+    public UtxoSet getUtxoSet() {
+        return utxoSet;
+    }
+    public void setUtxoSet(UtxoSet utxoSet) {
+        this.utxoSet = utxoSet;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polling settings for the per-network chain head tracker
+ */
+@Component
+@ConfigurationProperties(prefix = "app.chain-head")
+public class ChainHeadProperties {
+    private long pollIntervalMs = 4_000;
+    private long maxStalenessMs = 30_000;
+
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+    public void setPollIntervalMs(long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
+    public long getMaxStalenessMs() {
+        return maxStalenessMs;
+    }
+    public void setMaxStalenessMs(long maxStalenessMs) {
+        this.maxStalenessMs = maxStalenessMs;
+    }
+}
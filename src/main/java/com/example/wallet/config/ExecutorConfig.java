@@ -0,0 +1,28 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Shared executor for fanning out blocking upstream calls
+     * Uses one virtual thread per task when spring.threads.virtual.enabled is set,
+     * otherwise a fixed pool of platform threads
+     * Callers bound their own concurrency, so the virtual-thread executor is not capped
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService upstreamExecutor(BulkProperties bulkProperties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upstream-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(bulkProperties.getExecutorThreads(), new CustomizableThreadFactory("upstream-"));
+    }
+}
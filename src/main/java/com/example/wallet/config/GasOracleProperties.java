@@ -0,0 +1,20 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Freshness settings for the background gas fee oracle
+ */
+@Component
+@ConfigurationProperties(prefix = "app.gas-oracle")
+public class GasOracleProperties {
+    private long maxAgeMs = 30_000;
+
+    public long getMaxAgeMs() {
+        return maxAgeMs;
+    }
+    public void setMaxAgeMs(long maxAgeMs) {
+        this.maxAgeMs = maxAgeMs;
+    }
+}
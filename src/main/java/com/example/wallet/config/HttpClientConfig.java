@@ -0,0 +1,66 @@
+package com.example.wallet.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Pooled HTTP client shared by all REST upstreams
+     * Keeps connections alive per host so repeated calls skip the TCP/TLS handshake,
+     * and transparently decompresses gzip/deflate responses
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(HttpClientProperties httpClientProperties, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(httpClientProperties.getMaxConnections())
+                .setMaxConnPerRoute(httpClientProperties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(httpClientProperties.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(httpClientProperties.getReadTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofSeconds(httpClientProperties.getTimeToLiveSeconds()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "upstream").bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(httpClientProperties.getPoolTimeoutMs()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(httpClientProperties.getIdleTimeoutSeconds()))
+                .build();
+    }
+
+    /**
+     * RestTemplate backed by the pooled client
+     * Client request observations are turned off: callers pass expanded URLs, which would put addresses into
+     * the uri tag of http.client.requests, and every call is already timed by wallet.upstream.requests
+     * under its templated path
+     */
+    @Bean
+    public RestTemplate upstreamRestTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient upstreamHttpClient) {
+        RestTemplate restTemplate = restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(upstreamHttpClient))
+                .build();
+        restTemplate.setObservationRegistry(ObservationRegistry.NOOP);
+        return restTemplate;
+    }
+}
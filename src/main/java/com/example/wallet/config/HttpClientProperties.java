@@ -0,0 +1,62 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connection pool and timeout settings for the shared REST upstream client (Blockscout, BTC providers)
+ */
+@Component
+@ConfigurationProperties(prefix = "app.http")
+public class HttpClientProperties {
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 50;
+    private long connectTimeoutMs = 5_000;
+    private long readTimeoutMs = 30_000;
+    private long poolTimeoutMs = 2_000;
+    private long timeToLiveSeconds = 300;
+    private long idleTimeoutSeconds = 60;
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+    public long getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+    public void setReadTimeoutMs(long readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+    public long getPoolTimeoutMs() {
+        return poolTimeoutMs;
+    }
+    public void setPoolTimeoutMs(long poolTimeoutMs) {
+        this.poolTimeoutMs = poolTimeoutMs;
+    }
+    public long getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+    public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+    public long getIdleTimeoutSeconds() {
+        return idleTimeoutSeconds;
+    }
+    public void setIdleTimeoutSeconds(long idleTimeoutSeconds) {
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits and batching for Server-Sent Events balance and transaction subscriptions
+ */
+@Component
+@ConfigurationProperties(prefix = "app.subscriptions")
+public class SubscriptionProperties {
+    private int maxSubscribers = 10_000;
+    private int batchSize = 100;
+    private long timeoutMinutes = 30;
+    private int maxPendingEvents = 256;
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+    public int getBatchSize() {
+        return batchSize;
+    }
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    public long getTimeoutMinutes() {
+        return timeoutMinutes;
+    }
+    public void setTimeoutMinutes(long timeoutMinutes) {
+        this.timeoutMinutes = timeoutMinutes;
+    }
+    public int getMaxPendingEvents() {
+        return maxPendingEvents;
+    }
+    public void setMaxPendingEvents(int maxPendingEvents) {
+        this.maxPendingEvents = maxPendingEvents;
+    }
+}
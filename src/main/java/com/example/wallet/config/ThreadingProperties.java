@@ -0,0 +1,28 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Diagnostics settings for the virtual-thread execution mode
+ * Virtual threads themselves are switched on with spring.threads.virtual.enabled
+ */
+@Component
+@ConfigurationProperties(prefix = "app.threads")
+public class ThreadingProperties {
+    private boolean pinningDiagnostics = true;
+    private long pinningThresholdMs = 20;
+
+    public boolean isPinningDiagnostics() {
+        return pinningDiagnostics;
+    }
+    public void setPinningDiagnostics(boolean pinningDiagnostics) {
+        this.pinningDiagnostics = pinningDiagnostics;
+    }
+    public long getPinningThresholdMs() {
+        return pinningThresholdMs;
+    }
+    public void setPinningThresholdMs(long pinningThresholdMs) {
+        this.pinningThresholdMs = pinningThresholdMs;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batching and retention settings for the background receipt tracker
+ */
+@Component
+@ConfigurationProperties(prefix = "app.tx-tracker")
+public class TxTrackerProperties {
+    private int batchSize = 100;
+    private long pendingTimeoutMinutes = 60;
+    private long pendingGraceSeconds = 30;
+    private long retentionMinutes = 10;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    public long getPendingTimeoutMinutes() {
+        return pendingTimeoutMinutes;
+    }
+    public void setPendingTimeoutMinutes(long pendingTimeoutMinutes) {
+        this.pendingTimeoutMinutes = pendingTimeoutMinutes;
+    }
+    public long getPendingGraceSeconds() {
+        return pendingGraceSeconds;
+    }
+    public void setPendingGraceSeconds(long pendingGraceSeconds) {
+        this.pendingGraceSeconds = pendingGraceSeconds;
+    }
+    public long getRetentionMinutes() {
+        return retentionMinutes;
+    }
+    public void setRetentionMinutes(long retentionMinutes) {
+        this.retentionMinutes = retentionMinutes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker and hedging settings for pooled upstream providers
+ */
+@Component
+@ConfigurationProperties(prefix = "app.upstream")
+public class UpstreamProperties {
+    private int failureThreshold = 3;
+    private long openDurationMs = 30_000;
+    private boolean hedgeEnabled = false;
+    private long hedgeDefaultDelayMs = 500;
+    private long hedgeMinDelayMs = 50;
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+    public long getOpenDurationMs() {
+        return openDurationMs;
+    }
+    public void setOpenDurationMs(long openDurationMs) {
+        this.openDurationMs = openDurationMs;
+    }
+    public boolean isHedgeEnabled() {
+        return hedgeEnabled;
+    }
+    public void setHedgeEnabled(boolean hedgeEnabled) {
+        this.hedgeEnabled = hedgeEnabled;
+    }
+    public long getHedgeDefaultDelayMs() {
+        return hedgeDefaultDelayMs;
+    }
+    public void setHedgeDefaultDelayMs(long hedgeDefaultDelayMs) {
+        this.hedgeDefaultDelayMs = hedgeDefaultDelayMs;
+    }
+    public long getHedgeMinDelayMs() {
+        return hedgeMinDelayMs;
+    }
+    public void setHedgeMinDelayMs(long hedgeMinDelayMs) {
+        this.hedgeMinDelayMs = hedgeMinDelayMs;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.wallet.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, e.g. while blocking inside
+ * a synchronized block of an HTTP client, since pinning silently caps virtual-thread concurrency
+ * Pinned events come from JFR and are logged with their top stack frames and counted
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "app.threads", name = "pinning-diagnostics", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final ThreadingProperties threadingProperties;
+    private final Counter pinnedCounter;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(ThreadingProperties threadingProperties, MeterRegistry meterRegistry) {
+        this.threadingProperties = threadingProperties;
+        this.pinnedCounter = Counter.builder("wallet.threads.virtual.pinned")
+                .description("Virtual threads pinned to a carrier for longer than the threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(threadingProperties.getPinningThresholdMs()))
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        logger.info("Virtual thread pinning diagnostics enabled (threshold {} ms)", threadingProperties.getPinningThresholdMs());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        if (logger.isWarnEnabled()) {
+            String thread = event.getThread() == null ? "unknown" : event.getThread().getJavaName();
+            logger.warn("Virtual thread {} pinned for {} ms at {}", thread, event.getDuration().toMillis(), topFrames(event));
+        }
+    }
+
+    private static String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "<no stack trace>";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
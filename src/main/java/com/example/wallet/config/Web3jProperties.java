@@ -0,0 +1,62 @@
+package com.example.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connection pool and timeout settings for the per-network Web3j clients
+ */
+@Component
+@ConfigurationProperties(prefix = "app.web3j")
+public class Web3jProperties {
+    private int maxIdleConnections = 16;
+    private long keepAliveSeconds = 300;
+    private int maxRequests = 128;
+    private int maxRequestsPerHost = 64;
+    private long connectTimeoutMs = 5_000;
+    private long readTimeoutMs = 30_000;
+    private long writeTimeoutMs = 30_000;
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+    public void setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+    public long getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+    public void setReadTimeoutMs(long readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+    public long getWriteTimeoutMs() {
+        return writeTimeoutMs;
+    }
+    public void setWriteTimeoutMs(long writeTimeoutMs) {
+        this.writeTimeoutMs = writeTimeoutMs;
+    }
+}
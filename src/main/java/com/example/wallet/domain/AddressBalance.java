@@ -0,0 +1,19 @@
+package com.example.wallet.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Balance of one address in a bulk balance query
+ * Either balance or error is set
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AddressBalance(String address, String balance, String error) {
+
+    public static AddressBalance of(String address, String balance) {
+        return new AddressBalance(address, balance, null);
+    }
+
+    public static AddressBalance failed(String address, String error) {
+        return new AddressBalance(address, null, error);
+    }
+}
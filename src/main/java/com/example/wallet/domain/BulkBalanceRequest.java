@@ -0,0 +1,18 @@
+package com.example.wallet.domain;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request body for bulk balance queries
+ */
+public record BulkBalanceRequest(
+    @NotEmpty
+    @Size(max = BulkBalanceRequest.MAX_ADDRESSES)
+    List<@NotBlank String> addresses
+) {
+    public static final int MAX_ADDRESSES = 1000;
+}
@@ -0,0 +1,13 @@
+package com.example.wallet.domain.btc;
+
+/**
+ * Unspent transaction output of a Bitcoin address, normalized across providers
+ * Values are in satoshis; blockHeight is null while the output is unconfirmed
+ */
+public record Utxo(
+    String txid,
+    int vout,
+    long value,
+    boolean confirmed,
+    Long blockHeight
+) {}
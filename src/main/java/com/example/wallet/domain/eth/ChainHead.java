@@ -0,0 +1,8 @@
+package com.example.wallet.domain.eth;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A new head block observed on a network, pushed to subscribers before the updates it caused
+ */
+public record ChainHead(String network, @JsonProperty("block_number") long blockNumber) {}
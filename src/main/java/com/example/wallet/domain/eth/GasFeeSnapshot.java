@@ -0,0 +1,45 @@
+package com.example.wallet.domain.eth;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable gas fee suggestion held by the gas fee oracle
+ * Serializes exactly like GasFeeSuggestion, so one instance can be served to every request
+ */
+public record GasFeeSnapshot(
+    Tier slow,
+    Tier average,
+    Tier fast,
+    Tier fastest,
+    @JsonProperty("base_fee") String baseFee,
+    String unit
+) {
+
+    /**
+     * Fee details at one priority level
+     */
+    public record Tier(
+        @JsonProperty("max_fee") String maxFee,
+        @JsonProperty("max_priority_fee") String maxPriorityFee,
+        @JsonProperty("estimated_seconds") Integer estimatedSeconds
+    ) {
+        static Tier of(GasFeeSuggestion.GasFeeDetail detail) {
+            return detail == null ? null
+                    : new Tier(detail.getMaxFee(), detail.getMaxPriorityFee(), detail.getEstimatedSeconds());
+        }
+    }
+
+    /**
+     * Take an immutable copy of a freshly built suggestion
+     */
+    public static GasFeeSnapshot of(GasFeeSuggestion suggestion) {
+        return new GasFeeSnapshot(
+            Tier.of(suggestion.getSlow()),
+            Tier.of(suggestion.getAverage()),
+            Tier.of(suggestion.getFast()),
+            Tier.of(suggestion.getFastest()),
+            suggestion.getBaseFee(),
+            suggestion.getUnit()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.wallet.domain.eth;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * ETH balance plus ERC-20 token balances of one address, fetched in a single Multicall3 call
+ * A token balance is null if its balanceOf call reverted
+ */
+public record PortfolioResponse(
+    String network,
+    String address,
+    @JsonProperty("eth_balance") String ethBalance,
+    List<TokenBalanceResponse> tokens
+) {}
@@ -0,0 +1,6 @@
+package com.example.wallet.domain.eth;
+
+/**
+ * Immutable ERC-20 token metadata (name, symbol and decimals)
+ */
+public record TokenMetadata(String name, String symbol, String decimals) {}
@@ -137,6 +137,30 @@ public class TransactionStatusResponse {
         }
     }
     
+    /**
+     * Shallow copy, so per-request fields can be set without touching a cached or shared instance
+     */
+    public TransactionStatusResponse copy() {
+        TransactionStatusResponse copy = new TransactionStatusResponse();
+        copy.transactionHash = transactionHash;
+        copy.blockHash = blockHash;
+        copy.blockNumber = blockNumber;
+        copy.from = from;
+        copy.to = to;
+        copy.gasUsed = gasUsed;
+        copy.gasPrice = gasPrice;
+        copy.effectiveGasPrice = effectiveGasPrice;
+        copy.value = value;
+        copy.status = status;
+        copy.cumulativeGasUsed = cumulativeGasUsed;
+        copy.logsBloom = logsBloom;
+        copy.contractAddress = contractAddress;
+        copy.logs = logs;
+        copy.confirmationCount = confirmationCount;
+        copy.error = error;
+        return copy;
+    }
+
     // Getters and setters
     public String getTransactionHash() {
         return transactionHash;
@@ -0,0 +1,15 @@
+package com.example.wallet.infra.btc;
+
+import com.example.wallet.domain.btc.Utxo;
+
+import java.util.List;
+
+/**
+ * A transaction as seen from one address
+ *
+ * @param txid the transaction ID
+ * @param spentOutpoints outputs of the address spent by this transaction, as "txid:vout"
+ * @param outputs outputs this transaction pays to the address
+ */
+public record AddressTransaction(String txid, List<String> spentOutpoints, List<Utxo> outputs) {
+}
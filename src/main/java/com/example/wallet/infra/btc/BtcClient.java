@@ -1,123 +1,316 @@
 package com.example.wallet.infra.btc;
 
-import com.example.wallet.config.IAppProperties;
+import com.example.wallet.domain.btc.BitcoinAddressInfo;
+import com.example.wallet.domain.btc.Utxo;
+import com.example.wallet.infra.upstream.UpstreamMetrics;
+import com.example.wallet.infra.upstream.UpstreamRouter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Implementation of the Bitcoin client interface
+ * Every request is routed through the provider pool of its network, so a failing or slow backend
+ * is skipped in favour of another one speaking a dialect that supports the request. Each call is timed
+ * per provider host under its templated path
  */
 @Component
 public class BtcClient implements IBtcClient {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(BtcClient.class);
-    private final IAppProperties appProperties;
+    private static final String CHAIN = "btc";
+    private static final Set<BtcProvider.Kind> ANY = EnumSet.allOf(BtcProvider.Kind.class);
+    private static final Set<BtcProvider.Kind> UTXO_KINDS = EnumSet.of(BtcProvider.Kind.ESPLORA, BtcProvider.Kind.BLOCKCYPHER);
+    private static final Set<BtcProvider.Kind> ESPLORA = EnumSet.of(BtcProvider.Kind.ESPLORA);
+    private static final List<BtcProvider.Kind> ADDRESS_INFO_PREFERENCE =
+            List.of(BtcProvider.Kind.ESPLORA, BtcProvider.Kind.BLOCKCYPHER, BtcProvider.Kind.BLOCKCHAIN_INFO);
+    private static final Set<String> BLOCKCYPHER_BALANCE_FIELDS = Set.of("balance");
+    static final Set<String> BLOCKCYPHER_FIELDS =
+            Set.of("balance", "n_tx", "total_received", "total_sent");
+    private static final Set<String> RAWADDR_FIELDS =
+            Set.of("final_balance", "n_tx", "n_unredeemed", "total_received", "total_sent");
+
+    private final BtcProviderPool providerPool;
+    private final UpstreamRouter upstreamRouter;
     private final RestTemplate restTemplate;
+    private final UpstreamMetrics upstreamMetrics;
     private final ObjectMapper objectMapper;
-    
-    public BtcClient(IAppProperties appProperties) {
-        this.appProperties = appProperties;
-        this.restTemplate = new RestTemplate();
+
+    public BtcClient(BtcProviderPool providerPool, UpstreamRouter upstreamRouter, RestTemplate restTemplate,
+                     UpstreamMetrics upstreamMetrics) {
+        this.providerPool = providerPool;
+        this.upstreamRouter = upstreamRouter;
+        this.restTemplate = restTemplate;
+        this.upstreamMetrics = upstreamMetrics;
         this.objectMapper = new ObjectMapper();
     }
-    
+
     @Override
     public String getBalance(String network, String address) {
         try {
-            String apiUrl = appProperties.getRpc().getBtc().get(network);
-            if (apiUrl == null) {
-                throw new IllegalArgumentException("Unsupported BTC network: " + network);
-            }
-            
-            if (network.equals("testnet") || network.contains("esplora")) {
+            // Every dialect is asked for the confirmed balance, so the answer does not depend on the provider chosen
+            return route(network, ANY, provider -> switch (provider.kind()) {
                 // Blockstream and Mempool.space Esplora API format
-                String endpoint = String.format("%s/address/%s", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                
                 // Get confirmed balance (chain_stats.funded_txo_sum - chain_stats.spent_txo_sum)
-                JsonNode chainStats = responseJson.get("chain_stats");
-                BigInteger funded = new BigInteger(chainStats.get("funded_txo_sum").asText());
-                BigInteger spent = new BigInteger(chainStats.get("spent_txo_sum").asText());
-                BigInteger balance = funded.subtract(spent);
-                
-                return balance.toString();
-            } else if (network.contains("blockcypher")) {
-                // BlockCypher API format
-                String endpoint = String.format("%s/addrs/%s/balance", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                
-                // Get confirmed balance in satoshis
-                return responseJson.get("final_balance").asText();
-            } else if (network.contains("blockchain")) {
-                // Blockchain.info API format
-                String endpoint = String.format("%s/rawaddr/%s", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                
-                // Get confirmed balance in satoshis
-                return responseJson.get("final_balance").asText();
-            } else {
-                // Default to mainnet Blockstream API
-                String endpoint = String.format("%s/address/%s", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                
-                // Get confirmed balance
-                JsonNode chainStats = responseJson.get("chain_stats");
-                BigInteger funded = new BigInteger(chainStats.get("funded_txo_sum").asText());
-                BigInteger spent = new BigInteger(chainStats.get("spent_txo_sum").asText());
-                BigInteger balance = funded.subtract(spent);
-                
-                return balance.toString();
-            }
+                case ESPLORA -> get(network, provider, "/address/{address}", String.format("%s/address/%s", provider.url(), address),
+                        response -> BtcJsonExtractor.chainStats(response.getBody()).balance().toString());
+                // BlockCypher API format, confirmed balance in satoshis (final_balance includes unconfirmed funds)
+                case BLOCKCYPHER -> readFields(network, provider, "/addrs/{address}/balance",
+                        String.format("%s/addrs/%s/balance", provider.url(), address), BLOCKCYPHER_BALANCE_FIELDS).get("balance");
+                // Blockchain.info API format, confirmed balance in satoshis as plain text
+                case BLOCKCHAIN_INFO -> get(network, provider, "/q/addressbalance/{address}",
+                        String.format("%s/q/addressbalance/%s?confirmations=1", provider.url(), address),
+                        response -> plainBalance(response.getBody()));
+            });
         } catch (Exception e) {
             logger.error("Failed to fetch BTC balance for address {}: {}", address, e.getMessage(), e);
             throw new RuntimeException("Failed to fetch BTC balance: " + e.getMessage(), e);
         }
     }
-    
+
+    @Override
+    public BitcoinAddressInfo getAddressInfo(String network, String address) {
+        try {
+            // The dialects disagree on what the address counters mean, so a request is only routed across the
+            // backends of one dialect: Esplora if the network has any, then BlockCypher, then Blockchain.info
+            return route(network, preferredKind(network), provider -> switch (provider.kind()) {
+                case ESPLORA -> {
+                    // Blockstream and Mempool.space Esplora API format, confirmed statistics
+                    BtcJsonExtractor.ChainStats chainStats = get(network, provider, "/address/{address}",
+                            String.format("%s/address/%s", provider.url(), address),
+                            response -> BtcJsonExtractor.chainStats(response.getBody()));
+                    yield new BitcoinAddressInfo(
+                        address,
+                        network,
+                        chainStats.balance().toString(),
+                        chainStats.txCount(),
+                        chainStats.fundedTxoCount() - chainStats.spentTxoCount(),
+                        chainStats.fundedTxoSum().toString(),
+                        chainStats.spentTxoSum().toString()
+                    );
+                }
+                case BLOCKCYPHER -> {
+                    // BlockCypher API format, confirmed statistics; the address endpoint has no unspent output count
+                    Map<String, String> fields = readFields(network, provider, "/addrs/{address}",
+                            String.format("%s/addrs/%s", provider.url(), address), BLOCKCYPHER_FIELDS);
+                    yield new BitcoinAddressInfo(
+                        address,
+                        network,
+                        fields.get("balance"),
+                        Integer.parseInt(fields.get("n_tx")),
+                        null,
+                        fields.get("total_received"),
+                        fields.get("total_sent")
+                    );
+                }
+                case BLOCKCHAIN_INFO -> {
+                    // Blockchain.info API format, including unconfirmed transactions
+                    Map<String, String> fields = readFields(network, provider, "/rawaddr/{address}",
+                            String.format("%s/rawaddr/%s?limit=0", provider.url(), address), RAWADDR_FIELDS);
+                    yield new BitcoinAddressInfo(
+                        address,
+                        network,
+                        fields.get("final_balance"),
+                        Integer.parseInt(fields.get("n_tx")),
+                        Integer.parseInt(fields.get("n_unredeemed")),
+                        fields.get("total_received"),
+                        fields.get("total_sent")
+                    );
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Failed to fetch BTC address info for {}: {}", address, e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch BTC address info: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public String getTransactionStatus(String network, String txHash) {
         // TODO: Implement actual transaction status logic
         return "{}";
     }
-    
+
     @Override
-    public String getUtxos(String network, String address) {
+    public List<Utxo> getUtxos(String network, String address) {
         try {
-            String apiUrl = appProperties.getRpc().getBtc().get(network);
-            if (apiUrl == null) {
-                throw new IllegalArgumentException("Unsupported BTC network: " + network);
-            }
-            
-            if (network.equals("testnet") || network.contains("esplora")) {
+            return route(network, UTXO_KINDS, provider -> {
+                if (provider.kind() == BtcProvider.Kind.BLOCKCYPHER) {
+                    // BlockCypher API format
+                    String endpoint = String.format("%s/addrs/%s?unspentOnly=true", provider.url(), address);
+                    JsonNode responseJson = readJson(network, provider, "/addrs/{address}", endpoint);
+                    List<Utxo> utxos = new ArrayList<>();
+                    addBlockCypherRefs(responseJson.get("txrefs"), utxos);
+                    addBlockCypherRefs(responseJson.get("unconfirmed_txrefs"), utxos);
+                    return utxos;
+                }
                 // Blockstream and Mempool.space Esplora API format
-                String endpoint = String.format("%s/address/%s/utxo", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                return response.getBody();
-            } else if (network.contains("blockcypher")) {
-                // BlockCypher API format
-                String endpoint = String.format("%s/addrs/%s?unspentOnly=true", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                return response.getBody();
-            } else {
-                // Default to mainnet Blockstream API
-                String endpoint = String.format("%s/address/%s/utxo", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                return response.getBody();
-            }
+                String endpoint = String.format("%s/address/%s/utxo", provider.url(), address);
+                List<Utxo> utxos = new ArrayList<>();
+                for (JsonNode utxo : readJson(network, provider, "/address/{address}/utxo", endpoint)) {
+                    JsonNode status = utxo.path("status");
+                    boolean confirmed = status.path("confirmed").asBoolean();
+                    utxos.add(new Utxo(
+                        utxo.get("txid").asText(),
+                        utxo.get("vout").asInt(),
+                        utxo.get("value").asLong(),
+                        confirmed,
+                        confirmed ? status.path("block_height").asLong() : null
+                    ));
+                }
+                return utxos;
+            });
         } catch (Exception e) {
             logger.error("Failed to fetch BTC UTXOs for address {}: {}", address, e.getMessage(), e);
             throw new RuntimeException("Failed to fetch BTC UTXOs: " + e.getMessage(), e);
         }
     }
+
+    @Override
+    public boolean supportsTransactionCursor(String network) {
+        return !providerPool.providers(network, ESPLORA).isEmpty();
+    }
+
+    @Override
+    public List<AddressTransaction> getChainTransactions(String network, String address, String lastSeenTxid) {
+        try {
+            return route(network, ESPLORA, provider -> {
+                String endpoint = String.format("%s/address/%s/txs/chain", provider.url(), address);
+                String path = "/address/{address}/txs/chain";
+                if (lastSeenTxid != null) {
+                    endpoint = endpoint + "/" + lastSeenTxid;
+                    path = path + "/{txid}";
+                }
+                return readAddressTransactions(readJson(network, provider, path, endpoint), address);
+            });
+        } catch (Exception e) {
+            logger.error("Failed to fetch BTC transactions for address {}: {}", address, e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch BTC transactions: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<AddressTransaction> getMempoolTransactions(String network, String address) {
+        try {
+            return route(network, ESPLORA, provider -> readAddressTransactions(readJson(network, provider,
+                    "/address/{address}/txs/mempool", String.format("%s/address/%s/txs/mempool", provider.url(), address)), address));
+        } catch (Exception e) {
+            logger.error("Failed to fetch BTC mempool transactions for address {}: {}", address, e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch BTC mempool transactions: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run a read against the healthiest backend of the network that supports it; all BTC calls are reads,
+     * so they may be hedged
+     */
+    private <T> T route(String network, Set<BtcProvider.Kind> kinds, Function<BtcProvider, T> call) {
+        List<BtcProvider> candidates = providerPool.providers(network, kinds);
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No BTC provider for " + network + " supports this request");
+        }
+        return upstreamRouter.execute("btc-" + network, candidates, true, call);
+    }
+
+    /**
+     * The single dialect used for requests whose fields mean different things per dialect
+     */
+    private Set<BtcProvider.Kind> preferredKind(String network) {
+        for (BtcProvider.Kind kind : ADDRESS_INFO_PREFERENCE) {
+            if (!providerPool.providers(network, EnumSet.of(kind)).isEmpty()) {
+                return EnumSet.of(kind);
+            }
+        }
+        return ANY;
+    }
+
+    private List<AddressTransaction> readAddressTransactions(JsonNode response, String address) {
+        List<AddressTransaction> transactions = new ArrayList<>();
+        for (JsonNode tx : response) {
+            String txid = tx.get("txid").asText();
+            JsonNode status = tx.path("status");
+            boolean confirmed = status.path("confirmed").asBoolean();
+            Long blockHeight = confirmed ? status.path("block_height").asLong() : null;
+
+            List<String> spent = new ArrayList<>();
+            for (JsonNode input : tx.path("vin")) {
+                if (address.equals(input.path("prevout").path("scriptpubkey_address").asText(null))) {
+                    spent.add(input.get("txid").asText() + ":" + input.get("vout").asInt());
+                }
+            }
+            List<Utxo> outputs = new ArrayList<>();
+            JsonNode vouts = tx.path("vout");
+            for (int i = 0; i < vouts.size(); i++) {
+                JsonNode output = vouts.get(i);
+                if (address.equals(output.path("scriptpubkey_address").asText(null))) {
+                    outputs.add(new Utxo(txid, i, output.get("value").asLong(), confirmed, blockHeight));
+                }
+            }
+            transactions.add(new AddressTransaction(txid, spent, outputs));
+        }
+        return transactions;
+    }
+
+    private static void addBlockCypherRefs(JsonNode refs, List<Utxo> utxos) {
+        if (refs == null) {
+            return;
+        }
+        for (JsonNode ref : refs) {
+            boolean confirmed = ref.path("confirmations").asInt() > 0;
+            utxos.add(new Utxo(
+                ref.get("tx_hash").asText(),
+                ref.get("tx_output_n").asInt(),
+                ref.get("value").asLong(),
+                confirmed,
+                confirmed ? ref.path("block_height").asLong() : null
+            ));
+        }
+    }
+
+    /**
+     * Read a balance returned as a plain-text number, as by Blockchain.info's /q/addressbalance
+     *
+     * @param in the response body
+     * @return the balance in satoshis
+     * @throws IOException if the body cannot be read
+     */
+    static String plainBalance(InputStream in) throws IOException {
+        return new BigInteger(new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim()).toString();
+    }
+
+    private Map<String, String> readFields(String network, BtcProvider provider, String path, String endpoint, Set<String> fields) {
+        Map<String, String> values = get(network, provider, path, endpoint,
+                response -> BtcJsonExtractor.topLevelFields(response.getBody(), fields));
+        if (values == null || !values.keySet().containsAll(fields)) {
+            throw new IllegalStateException("Incomplete address response from " + endpoint);
+        }
+        return values;
+    }
+
+    private JsonNode readJson(String network, BtcProvider provider, String path, String endpoint) {
+        return get(network, provider, path, endpoint, response -> objectMapper.readTree(response.getBody()));
+    }
+
+    /**
+     * GET a provider URL, timed under its templated path so addresses never end up in metric tags
+     */
+    private <T> T get(String network, BtcProvider provider, String path, String url, ResponseExtractor<T> extractor) {
+        return upstreamMetrics.record(CHAIN, network, upstreamMetrics.host(provider.url()), path,
+                () -> restTemplate.execute(url, HttpMethod.GET, null, extractor));
+    }
 }
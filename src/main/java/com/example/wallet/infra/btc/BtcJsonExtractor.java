@@ -0,0 +1,111 @@
+package com.example.wallet.infra.btc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming extractor for BTC provider address responses
+ * Reads tokens straight off the response stream, skips everything it does not need without building a tree,
+ * and stops as soon as the wanted fields are found, so large transaction lists at the end are never parsed
+ */
+public final class BtcJsonExtractor {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private BtcJsonExtractor() {
+    }
+
+    /**
+     * Confirmed statistics of an Esplora address
+     */
+    public record ChainStats(BigInteger fundedTxoSum, BigInteger spentTxoSum, int txCount,
+                             int fundedTxoCount, int spentTxoCount) {
+        public BigInteger balance() {
+            return fundedTxoSum.subtract(spentTxoSum);
+        }
+    }
+
+    /**
+     * Read the chain_stats object of an Esplora /address response
+     *
+     * @param in the response body
+     * @return the confirmed statistics
+     * @throws IOException if the body is not JSON or has no chain_stats object
+     */
+    public static ChainStats chainStats(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("chain_stats".equals(name) && value == JsonToken.START_OBJECT) {
+                    return readChainStats(parser);
+                }
+                parser.skipChildren();
+            }
+            throw new IOException("Response has no chain_stats");
+        }
+    }
+
+    /**
+     * Read scalar top-level fields of a JSON object response
+     *
+     * @param in the response body
+     * @param fields the field names to read
+     * @return field values as text, keyed by name; fields that are missing or not scalar are left out
+     * @throws IOException if the body is not a JSON object
+     */
+    public static Map<String, String> topLevelFields(InputStream in, Set<String> fields) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            expectObject(parser);
+            while (values.size() < fields.size() && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (fields.contains(name) && value.isScalarValue()) {
+                    values.put(name, parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return values;
+    }
+
+    private static ChainStats readChainStats(JsonParser parser) throws IOException {
+        BigInteger funded = null;
+        BigInteger spent = null;
+        int txCount = 0;
+        int fundedCount = 0;
+        int spentCount = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "funded_txo_sum" -> funded = new BigInteger(parser.getText());
+                case "spent_txo_sum" -> spent = new BigInteger(parser.getText());
+                case "tx_count" -> txCount = parser.getValueAsInt();
+                case "funded_txo_count" -> fundedCount = parser.getValueAsInt();
+                case "spent_txo_count" -> spentCount = parser.getValueAsInt();
+                default -> parser.skipChildren();
+            }
+        }
+        if (funded == null || spent == null) {
+            throw new IOException("chain_stats has no funded_txo_sum or spent_txo_sum");
+        }
+        return new ChainStats(funded, spent, txCount, fundedCount, spentCount);
+    }
+
+    private static void expectObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object response");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.wallet.infra.btc;
+
+import com.example.wallet.infra.upstream.EndpointHealth;
+import com.example.wallet.infra.upstream.Upstream;
+
+/**
+ * One configured BTC API backend
+ *
+ * @param name the app.rpc.btc key, e.g. esplora-testnet
+ * @param url the API base URL
+ * @param kind the API dialect spoken by the backend
+ * @param health latency and circuit state of the backend
+ */
+public record BtcProvider(String name, String url, Kind kind, EndpointHealth health) implements Upstream {
+
+    public enum Kind { ESPLORA, BLOCKCYPHER, BLOCKCHAIN_INFO }
+
+    /**
+     * Infer the API dialect from the configuration key, Esplora unless the key names another provider
+     */
+    static Kind kindOf(String key) {
+        if (key.contains("blockcypher")) {
+            return Kind.BLOCKCYPHER;
+        }
+        if (key.contains("blockchain")) {
+            return Kind.BLOCKCHAIN_INFO;
+        }
+        return Kind.ESPLORA;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.wallet.infra.btc;
+
+import com.example.wallet.config.IAppProperties;
+import com.example.wallet.infra.upstream.UpstreamRouter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups the app.rpc.btc backends into pools per logical network
+ * A key's logical network is the part after its last '-', so testnet, esplora-testnet and
+ * blockcypher-testnet all serve "testnet". Asking for a prefixed key pins that single backend
+ */
+@Component
+public class BtcProviderPool {
+    private final Map<String, BtcProvider> providers = new LinkedHashMap<>();
+    private final Map<String, List<BtcProvider>> pools = new LinkedHashMap<>();
+
+    public BtcProviderPool(IAppProperties appProperties, UpstreamRouter upstreamRouter) {
+        appProperties.getRpc().getBtc().forEach((key, url) -> {
+            BtcProvider provider = new BtcProvider(key, url, BtcProvider.kindOf(key), upstreamRouter.newHealth());
+            providers.put(key, provider);
+            pools.computeIfAbsent(logicalNetwork(key), k -> new ArrayList<>()).add(provider);
+        });
+    }
+
+    /**
+     * Get the backends able to serve a request
+     *
+     * @param network a logical network (mainnet, testnet) or a specific backend key
+     * @param kinds the API dialects that support the request
+     * @return matching backends, in configuration order
+     * @throws IllegalArgumentException if no backend is configured for the network
+     */
+    public List<BtcProvider> providers(String network, Set<BtcProvider.Kind> kinds) {
+        List<BtcProvider> pool;
+        if (network.contains("-") && providers.containsKey(network)) {
+            pool = List.of(providers.get(network));
+        } else {
+            pool = pools.getOrDefault(network, Collections.emptyList());
+        }
+        if (pool.isEmpty()) {
+            throw new IllegalArgumentException("Unsupported BTC network: " + network);
+        }
+        return pool.stream().filter(provider -> kinds.contains(provider.kind())).toList();
+    }
+
+    /**
+     * @return every configured backend
+     */
+    public List<BtcProvider> all() {
+        return List.copyOf(providers.values());
+    }
+
+    static String logicalNetwork(String key) {
+        return key.substring(key.lastIndexOf('-') + 1);
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.wallet.infra.btc;
 
+import com.example.wallet.domain.btc.BitcoinAddressInfo;
+import com.example.wallet.domain.btc.Utxo;
+
+import java.util.List;
+
 /**
  * Interface for Bitcoin client operations
  * Using an interface makes the code more testable
@@ -15,6 +20,15 @@ public interface IBtcClient {
      */
     String getBalance(String network, String address);
     
+    /**
+     * Get detailed information about a Bitcoin address
+     * 
+     * @param network The Bitcoin network (mainnet, testnet)
+     * @param address The Bitcoin address
+     * @return Address details including balance and transaction counts
+     */
+    BitcoinAddressInfo getAddressInfo(String network, String address);
+    
     /**
      * Get transaction status by transaction hash
      * 
@@ -29,7 +43,34 @@ public interface IBtcClient {
      * 
      * @param network The Bitcoin network (mainnet, testnet)
      * @param address The Bitcoin address
-     * @return UTXO information
+     * @return Unspent outputs, confirmed and unconfirmed
+     */
+    List<Utxo> getUtxos(String network, String address);
+    
+    /**
+     * Check whether the network's provider can list address transactions page by page (Esplora)
+     * 
+     * @param network The Bitcoin network
+     * @return true if getChainTransactions and getMempoolTransactions are supported
+     */
+    boolean supportsTransactionCursor(String network);
+    
+    /**
+     * Get one page of confirmed transactions of an address, newest first
+     * 
+     * @param network The Bitcoin network
+     * @param address The Bitcoin address
+     * @param lastSeenTxid the last transaction of the previous page, or null for the newest page
+     * @return Transactions of the page; shorter than a full page once history is exhausted
+     */
+    List<AddressTransaction> getChainTransactions(String network, String address, String lastSeenTxid);
+    
+    /**
+     * Get unconfirmed transactions of an address
+     * 
+     * @param network The Bitcoin network
+     * @param address The Bitcoin address
+     * @return Transactions in the mempool that touch the address
      */
-    String getUtxos(String network, String address);
+    List<AddressTransaction> getMempoolTransactions(String network, String address);
 }
@@ -4,18 +4,26 @@ import com.example.wallet.config.AppProperties;
 import com.example.wallet.domain.blockscout.BlockscoutTransactionResponse;
 import com.example.wallet.domain.eth.BlockscoutTokenInfo;
 import com.example.wallet.domain.eth.BlockscoutTokenListResponse;
+import com.example.wallet.domain.eth.TokenMetadata;
 import com.example.wallet.domain.eth.TokenTransferListResponse;
+import com.example.wallet.infra.upstream.UpstreamMetrics;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Supplier;
+
 @Component
 public class BlockscoutProvider implements IBlockscoutProvider {
     /**
@@ -42,12 +50,12 @@ public class BlockscoutProvider implements IBlockscoutProvider {
             String finalUrl = builder.toUriString();
             logger.info("Requesting tokens from: {}", finalUrl);
             HttpEntity<?> entity = buildJsonHeaders();
-            ResponseEntity<BlockscoutTokenListResponse> response = restTemplate.exchange(
+            ResponseEntity<BlockscoutTokenListResponse> response = timed(network, "/api/v2/tokens", () -> restTemplate.exchange(
                     finalUrl,
                     HttpMethod.GET,
                     entity,
                     BlockscoutTokenListResponse.class
-            );
+            ));
             return response.getBody();
         } catch (HttpClientErrorException e) {
             logger.error("Error from Blockscout API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -76,13 +84,15 @@ public class BlockscoutProvider implements IBlockscoutProvider {
             logger.info("Requesting token details from: {}", url);
             
             HttpEntity<?> entity = buildJsonHeaders();
-            ResponseEntity<BlockscoutTokenInfo> response = restTemplate.exchange(
+            ResponseEntity<BlockscoutTokenInfo> response = timed(network, "/api/v2/tokens/{address}", () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     entity,
                     BlockscoutTokenInfo.class
-            );
-            return response.getBody();
+            ));
+            BlockscoutTokenInfo tokenInfo = response.getBody();
+            cacheMetadata(network, tokenAddress, tokenInfo);
+            return tokenInfo;
         } catch (HttpClientErrorException e) {
             logger.error("Error from Blockscout API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Blockscout API error: " + e.getResponseBodyAsString(), e);
@@ -91,13 +101,32 @@ public class BlockscoutProvider implements IBlockscoutProvider {
             throw new RuntimeException("Failed to fetch token details: " + e.getMessage(), e);
         }
     }
+    /**
+     * Seed the shared token metadata cache from a Blockscout token response
+     * Market data in the response changes constantly, so only name, symbol and decimals are cached
+     */
+    private void cacheMetadata(String network, String tokenAddress, BlockscoutTokenInfo tokenInfo) {
+        if (tokenInfo == null || tokenInfo.getName() == null
+                || tokenInfo.getSymbol() == null || tokenInfo.getDecimals() == null) {
+            return;
+        }
+        tokenMetadataCache.put(network, tokenAddress,
+                new TokenMetadata(tokenInfo.getName(), tokenInfo.getSymbol(), tokenInfo.getDecimals()));
+    }
     private static final Logger logger = LoggerFactory.getLogger(BlockscoutProvider.class);
+    private static final String TRANSACTIONS_PATH = "/api/v2/addresses/{address}/transactions";
     
     private final AppProperties appProperties;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final TokenMetadataCache tokenMetadataCache;
+    private final RestTemplate restTemplate;
+    private final UpstreamMetrics upstreamMetrics;
 
-    public BlockscoutProvider(AppProperties appProperties) {
+    public BlockscoutProvider(AppProperties appProperties, TokenMetadataCache tokenMetadataCache, RestTemplate restTemplate,
+                              UpstreamMetrics upstreamMetrics) {
         this.appProperties = appProperties;
+        this.tokenMetadataCache = tokenMetadataCache;
+        this.restTemplate = restTemplate;
+        this.upstreamMetrics = upstreamMetrics;
     }
 
     /**
@@ -110,12 +139,12 @@ public class BlockscoutProvider implements IBlockscoutProvider {
             
             // Make request with proper headers
             HttpEntity<?> entity = buildJsonHeaders();
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = timed(network, TRANSACTIONS_PATH, () -> restTemplate.exchange(
                 url, 
                 HttpMethod.GET, 
                 entity, 
                 String.class
-            );
+            ));
             return response.getBody();
         } catch (HttpClientErrorException e) {
             logger.error("Error from Blockscout API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -126,6 +155,33 @@ public class BlockscoutProvider implements IBlockscoutProvider {
         }
     }
     
+    /**
+     * Stream transactions as raw JSON
+     * The upstream body is copied to the output in fixed-size chunks and never buffered as a whole,
+     * so heap use per request stays constant regardless of the history size
+     */
+    public void streamTransactions(String network, String address, String filter, OutputStream out) {
+        String url = buildTransactionUrl(network, address, filter);
+        try {
+            // Timed until the last byte is copied, so a slow client shows up here as well
+            timed(network, TRANSACTIONS_PATH, () -> restTemplate.execute(
+                url,
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> {
+                    StreamUtils.copy(response.getBody(), out);
+                    return null;
+                }
+            ));
+        } catch (HttpClientErrorException e) {
+            logger.error("Error from Blockscout API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new RuntimeException("Blockscout API error: " + e.getResponseBodyAsString(), e);
+        } catch (Exception e) {
+            logger.error("Error streaming transactions", e);
+            throw new RuntimeException("Failed to stream transactions: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Get transactions as parsed object
      */
@@ -136,12 +192,12 @@ public class BlockscoutProvider implements IBlockscoutProvider {
             
             // Make request with proper headers
             HttpEntity<?> entity = buildJsonHeaders();
-            ResponseEntity<BlockscoutTransactionResponse> response = restTemplate.exchange(
+            ResponseEntity<BlockscoutTransactionResponse> response = timed(network, TRANSACTIONS_PATH, () -> restTemplate.exchange(
                 url, 
                 HttpMethod.GET, 
                 entity, 
                 BlockscoutTransactionResponse.class
-            );
+            ));
             return response.getBody();
         } catch (HttpClientErrorException e) {
             logger.error("Error from Blockscout API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -176,6 +232,14 @@ public class BlockscoutProvider implements IBlockscoutProvider {
         return url;
     }
     
+    /**
+     * Time a Blockscout call under its templated path, tagged with the network's Blockscout host
+     */
+    private <T> T timed(String network, String path, Supplier<T> call) {
+        String baseUrl = appProperties.getBlockscout().get("eth").get(network);
+        return upstreamMetrics.record("eth", network, upstreamMetrics.host(baseUrl), path, call);
+    }
+    
     /**
      * Helper method to build JSON headers
      */
@@ -221,12 +285,13 @@ public class BlockscoutProvider implements IBlockscoutProvider {
             
             // Make request with proper headers
             HttpEntity<?> entity = buildJsonHeaders();
-            ResponseEntity<TokenTransferListResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    TokenTransferListResponse.class
-            );
+            ResponseEntity<TokenTransferListResponse> response = timed(network, "/api/v2/addresses/{address}/token-transfers",
+                    () -> restTemplate.exchange(
+                            url,
+                            HttpMethod.GET,
+                            entity,
+                            TokenTransferListResponse.class
+                    ));
             return response.getBody();
         } catch (HttpClientErrorException e) {
             logger.error("Error from Blockscout API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
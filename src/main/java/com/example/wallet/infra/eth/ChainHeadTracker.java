@@ -0,0 +1,125 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.config.ChainHeadProperties;
+import com.example.wallet.config.IAppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tracks the latest block number of each Ethereum network in use
+ * Networks are tracked from their first lookup and polled with eth_blockNumber in the background,
+ * so request paths can read the head from memory and react to new blocks. Only networks configured
+ * under app.rpc.eth are tracked
+ */
+@Component
+public class ChainHeadTracker {
+    private static final Logger logger = LoggerFactory.getLogger(ChainHeadTracker.class);
+
+    /**
+     * Callback for newly observed heads
+     */
+    @FunctionalInterface
+    public interface HeadListener {
+        void onNewHead(String network, long blockNumber);
+    }
+
+    private final Web3jRegistry web3jRegistry;
+    private final IAppProperties appProperties;
+    private final ChainHeadProperties chainHeadProperties;
+    private final Map<String, Head> heads = new ConcurrentHashMap<>();
+    private final List<HeadListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ChainHeadTracker(Web3jRegistry web3jRegistry, IAppProperties appProperties, ChainHeadProperties chainHeadProperties) {
+        this.web3jRegistry = web3jRegistry;
+        this.appProperties = appProperties;
+        this.chainHeadProperties = chainHeadProperties;
+    }
+
+    /**
+     * Get the latest known block number of a network and start tracking it if needed
+     *
+     * @param network the Ethereum network name
+     * @return the head block number, or -1 if it is not known yet, has gone stale or the network is not configured
+     */
+    public long head(String network) {
+        if (!isConfigured(network)) {
+            // Never track arbitrary names from requests; poll() would retry them forever
+            return -1;
+        }
+        Head head = heads.computeIfAbsent(network, key -> new Head(-1, 0));
+        long age = System.currentTimeMillis() - head.observedAt();
+        return age > chainHeadProperties.getMaxStalenessMs() ? -1 : head.blockNumber();
+    }
+
+    /**
+     * Get the latest block number of a network, fetching it once if it is not known yet
+     *
+     * @param network the Ethereum network name
+     * @return the head block number, or -1 if it could not be fetched or the network is not configured
+     */
+    public long currentHead(String network) {
+        long head = head(network);
+        if (head >= 0 || !isConfigured(network)) {
+            return head;
+        }
+        try {
+            long blockNumber = fetch(network);
+            update(network, blockNumber);
+            return blockNumber;
+        } catch (Exception e) {
+            logger.warn("Failed to fetch chain head for network {}: {}", network, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Register a callback invoked whenever a network advances
+     */
+    public void addListener(HeadListener listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${app.chain-head.poll-interval-ms:4000}")
+    public void poll() {
+        for (String network : heads.keySet()) {
+            try {
+                update(network, fetch(network));
+            } catch (Exception e) {
+                logger.warn("Failed to poll chain head for network {}: {}", network, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isConfigured(String network) {
+        return network != null && appProperties.getRpc().getEth().get(network) != null;
+    }
+
+    private long fetch(String network) throws IOException {
+        return web3jRegistry.get(network).ethBlockNumber().send().getBlockNumber().longValue();
+    }
+
+    synchronized void update(String network, long blockNumber) {
+        long now = System.currentTimeMillis();
+        Head previous = heads.get(network);
+        heads.put(network, new Head(Math.max(blockNumber, previous == null ? -1 : previous.blockNumber()), now));
+        if (previous == null || blockNumber > previous.blockNumber()) {
+            for (HeadListener listener : listeners) {
+                try {
+                    listener.onNewHead(network, blockNumber);
+                } catch (RuntimeException e) {
+                    logger.warn("Head listener failed for network {}: {}", network, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private record Head(long blockNumber, long observedAt) {}
+}
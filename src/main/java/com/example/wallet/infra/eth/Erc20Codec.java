@@ -0,0 +1,198 @@
+package com.example.wallet.infra.eth;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * ABI encoding and decoding for the ERC-20 calls the wallet makes
+ * Call data is built from precomputed selectors and results are decoded straight from the hex string,
+ * without web3j Function, TypeReference or Type wrappers
+ */
+final class Erc20Codec {
+    // balanceOf(address)
+    static final String BALANCE_OF = "0x70a08231";
+    // decimals()
+    static final String DECIMALS = "0x313ce567";
+    // symbol()
+    static final String SYMBOL = "0x95d89b41";
+    // name()
+    static final String NAME = "0x06fdde03";
+    // allowance(address,address)
+    static final String ALLOWANCE = "0xdd62ed3e";
+
+    private static final int WORD = 64; // hex chars per 32-byte ABI word
+    private static final int ADDRESS = 40; // hex chars per 20-byte address
+    private static final HexFormat HEX = HexFormat.of();
+    // Selector followed by zeroed argument words, copied and filled in per call
+    private static final char[] BALANCE_OF_TEMPLATE = template(BALANCE_OF, 1);
+    private static final char[] ALLOWANCE_TEMPLATE = template(ALLOWANCE, 2);
+
+    private Erc20Codec() {
+    }
+
+    /**
+     * Encode balanceOf(owner) call data
+     */
+    static String balanceOf(String owner) {
+        char[] data = BALANCE_OF_TEMPLATE.clone();
+        writeAddress(data, 0, owner);
+        return new String(data);
+    }
+
+    /**
+     * Encode allowance(owner, spender) call data
+     */
+    static String allowance(String owner, String spender) {
+        char[] data = ALLOWANCE_TEMPLATE.clone();
+        writeAddress(data, 0, owner);
+        writeAddress(data, 1, spender);
+        return new String(data);
+    }
+
+    /**
+     * Encode call data for any function taking a single address, e.g. Multicall3 getEthBalance(address)
+     *
+     * @param selector the 0x-prefixed 4-byte selector
+     * @param address the address argument
+     */
+    static String encodeAddressCall(String selector, String address) {
+        char[] data = template(selector, 1);
+        writeAddress(data, 0, address);
+        return new String(data);
+    }
+
+    /**
+     * Decode a single uint256 return value
+     *
+     * @return the value, or null if the data is too short (e.g. the target is not a contract) or not hex
+     */
+    static BigInteger decodeUint256(String returnData) {
+        if (returnData == null) {
+            return null;
+        }
+        int start = prefix(returnData);
+        int end = start + WORD;
+        if (returnData.length() < end) {
+            return null;
+        }
+        try {
+            // Skip leading zeros so most balances parse as a long without an intermediate byte array
+            int from = start;
+            while (from < end && returnData.charAt(from) == '0') {
+                from++;
+            }
+            if (from == end) {
+                return BigInteger.ZERO;
+            }
+            if (end - from <= 15) {
+                return BigInteger.valueOf(HexFormat.fromHexDigitsToLong(returnData, from, end));
+            }
+            from -= (end - from) & 1; // parseHex needs whole bytes
+            return new BigInteger(1, HEX.parseHex(returnData, from, end));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decode a uint8 return value such as decimals()
+     *
+     * @return the value, or null if the data is too short, not hex or does not fit in a uint8
+     */
+    static Integer decodeUint8(String returnData) {
+        long value = smallWord(returnData, returnData == null ? 0 : prefix(returnData));
+        return value < 0 || value > 255 ? null : (int) value;
+    }
+
+    /**
+     * Decode a string return value such as symbol() or name()
+     * Some older tokens (e.g. MKR) return bytes32 instead of string; that is decoded as UTF-8 with
+     * trailing zero bytes dropped
+     *
+     * @return the string, or null if the data is neither an ABI string nor a bytes32
+     */
+    static String decodeString(String returnData) {
+        if (returnData == null) {
+            return null;
+        }
+        int start = prefix(returnData);
+        int hexLength = returnData.length() - start;
+        try {
+            if (hexLength == WORD) {
+                int end = start + WORD;
+                while (end > start && returnData.charAt(end - 1) == '0' && returnData.charAt(end - 2) == '0') {
+                    end -= 2;
+                }
+                return utf8(returnData, start, end);
+            }
+            long offset = smallWord(returnData, start);
+            if (offset < 0 || offset * 2 + WORD > hexLength) {
+                return null;
+            }
+            int lengthAt = start + (int) offset * 2;
+            long length = smallWord(returnData, lengthAt);
+            int from = lengthAt + WORD;
+            if (length < 0 || from + length * 2 > returnData.length()) {
+                return null;
+            }
+            return utf8(returnData, from, from + (int) length * 2);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read a word holding a small unsigned integer (offset, length or uint8)
+     *
+     * @return the value, or -1 if the word is missing, not hex or larger than 32 bits
+     */
+    private static long smallWord(String hex, int from) {
+        if (hex == null || hex.length() < from + WORD) {
+            return -1;
+        }
+        int low = from + WORD - 8;
+        for (int i = from; i < low; i++) {
+            if (hex.charAt(i) != '0') {
+                return -1;
+            }
+        }
+        try {
+            return HexFormat.fromHexDigitsToLong(hex, low, from + WORD);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static String utf8(String hex, int from, int to) {
+        return new String(HEX.parseHex(hex, from, to), StandardCharsets.UTF_8);
+    }
+
+    private static void writeAddress(char[] data, int argument, String address) {
+        int from = prefix(address);
+        if (address.length() - from != ADDRESS) {
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+        // Selector (10 chars) plus the 12 zero bytes that left-pad the address within its word
+        int to = 10 + argument * WORD + (WORD - ADDRESS);
+        for (int i = 0; i < ADDRESS; i++) {
+            char c = Character.toLowerCase(address.charAt(from + i));
+            if (!HexFormat.isHexDigit(c)) {
+                throw new IllegalArgumentException("Invalid address: " + address);
+            }
+            data[to + i] = c;
+        }
+    }
+
+    private static char[] template(String selector, int arguments) {
+        char[] data = new char[selector.length() + arguments * WORD];
+        selector.getChars(0, selector.length(), data, 0);
+        Arrays.fill(data, selector.length(), data.length, '0');
+        return data;
+    }
+
+    private static int prefix(String hex) {
+        return hex.startsWith("0x") || hex.startsWith("0X") ? 2 : 0;
+    }
+}
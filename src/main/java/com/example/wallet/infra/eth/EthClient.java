@@ -3,37 +3,36 @@ package com.example.wallet.infra.eth;
 import java.util.Map;
 
 import com.example.wallet.config.IAppProperties;
+import com.example.wallet.domain.AddressBalance;
 import com.example.wallet.domain.eth.EthTransferRequest;
 import com.example.wallet.domain.eth.EthTransferResponse;
 import com.example.wallet.domain.eth.GasFeeSuggestion;
 import com.example.wallet.domain.eth.NonceResponse;
+import com.example.wallet.domain.eth.PortfolioResponse;
 import com.example.wallet.domain.eth.TokenBalanceResponse;
+import com.example.wallet.domain.eth.TokenMetadata;
 import com.example.wallet.domain.eth.TokenTransferRequest;
 import com.example.wallet.domain.eth.TokenTransferResponse;
 import com.example.wallet.domain.eth.TransactionStatusResponse;
 import org.springframework.stereotype.Component;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
-import org.web3j.protocol.http.HttpService;
 import org.web3j.utils.Convert;
 import org.web3j.utils.Numeric;
-import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.FunctionReturnDecoder;
-import org.web3j.abi.TypeReference;
-import org.web3j.abi.datatypes.Address;
-import org.web3j.abi.datatypes.Function;
-import org.web3j.abi.datatypes.Type;
-import org.web3j.abi.datatypes.Utf8String;
-import org.web3j.abi.datatypes.generated.Uint256;
-import org.web3j.abi.datatypes.generated.Uint8;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,21 +41,33 @@ import org.slf4j.LoggerFactory;
 public class EthClient implements IEthClient {
     private static final Logger logger = LoggerFactory.getLogger(EthClient.class);
     private static final BigInteger DEFAULT_GAS_LIMIT = BigInteger.valueOf(21000); // Standard ETH transfer
+    private static final int FEE_HISTORY_BLOCKS = 20;
+    // Priority fee percentiles for the slow, average, fast and fastest tiers
+    private static final List<Double> FEE_HISTORY_PERCENTILES = List.of(10.0, 25.0, 50.0, 90.0);
+    // Base fee headroom per tier, so a suggestion survives a few blocks of base fee increases
+    private static final double[] BASE_FEE_MULTIPLIERS = {1.1, 1.25, 1.5, 2.0};
+    private static final int[] ESTIMATED_SECONDS = {120, 60, 30, 15};
     private final IAppProperties appProperties;
+    private final Web3jRegistry web3jRegistry;
+    private final TokenMetadataCache tokenMetadataCache;
+    // Chain IDs never change for a network, so each is fetched once and pinned
+    private final Map<String, Long> chainIds = new ConcurrentHashMap<>();
 
-    public EthClient(IAppProperties appProperties) {
+    public EthClient(IAppProperties appProperties, Web3jRegistry web3jRegistry, TokenMetadataCache tokenMetadataCache) {
         this.appProperties = appProperties;
+        this.web3jRegistry = web3jRegistry;
+        this.tokenMetadataCache = tokenMetadataCache;
     }
     
     /**
-     * Create a Web3j instance for the given RPC URL
+     * Get the pooled Web3j client for the given network
      * This method is extracted for better testability
      * 
-     * @param rpcUrl the RPC URL to connect to
-     * @return a new Web3j instance
+     * @param network the Ethereum network name
+     * @return the shared Web3j instance for the network
      */
-    protected Web3j createWeb3j(String rpcUrl) {
-        return Web3j.build(new HttpService(rpcUrl));
+    protected Web3j web3j(String network) {
+        return web3jRegistry.get(network);
     }
 
     public String getBalance(String network, String address) {
@@ -64,7 +75,7 @@ public class EthClient implements IEthClient {
         if (rpcUrl == null) {
             throw new IllegalArgumentException("Unsupported ETH network: " + network);
         }
-        Web3j web3j = createWeb3j(rpcUrl);
+        Web3j web3j = web3j(network);
         try {
             EthGetBalance ethGetBalance = web3j.ethGetBalance(address, DefaultBlockParameterName.LATEST).send();
             return "0x" + ethGetBalance.getBalance().toString(16);  // Convert to hex string manually
@@ -73,6 +84,45 @@ public class EthClient implements IEthClient {
         }
     }
     
+    /**
+     * Get the ETH balances of many addresses with a single JSON-RPC batch of eth_getBalance
+     * 
+     * @param network the Ethereum network
+     * @param addresses the addresses to query
+     * @return balances in request order, with a per-address error for failed calls
+     */
+    @Override
+    public List<AddressBalance> getBalances(String network, List<String> addresses) {
+        String rpcUrl = appProperties.getRpc().getEth().get(network);
+        if (rpcUrl == null) {
+            throw new IllegalArgumentException("Unsupported ETH network: " + network);
+        }
+        Web3j web3j = web3j(network);
+        List<Request<?, EthGetBalance>> requests = new ArrayList<>(addresses.size());
+        for (String address : addresses) {
+            requests.add(web3j.ethGetBalance(address, DefaultBlockParameterName.LATEST));
+        }
+        try {
+            List<Response<?>> responses = sendBatch(web3j, requests);
+            List<AddressBalance> balances = new ArrayList<>(addresses.size());
+            for (int i = 0; i < addresses.size(); i++) {
+                Response<?> response = responses.get(i);
+                if (response == null) {
+                    balances.add(AddressBalance.failed(addresses.get(i), "No response from node"));
+                } else if (response.hasError()) {
+                    balances.add(AddressBalance.failed(addresses.get(i), response.getError().getMessage()));
+                } else {
+                    BigInteger wei = ((EthGetBalance) response).getBalance();
+                    balances.add(AddressBalance.of(addresses.get(i), "0x" + wei.toString(16)));
+                }
+            }
+            return balances;
+        } catch (IOException e) {
+            logger.error("Failed to fetch ETH balances for {} addresses: {}", addresses.size(), e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch ETH balances: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Get the current nonce for an address
      * 
@@ -86,7 +136,7 @@ public class EthClient implements IEthClient {
         if (rpcUrl == null) {
             throw new IllegalArgumentException("Unsupported ETH network: " + network);
         }
-        Web3j web3j = createWeb3j(rpcUrl);
+        Web3j web3j = web3j(network);
         try {
             EthGetTransactionCount ethGetTransactionCount = web3j
                 .ethGetTransactionCount(address, DefaultBlockParameterName.LATEST)
@@ -114,75 +164,48 @@ public class EthClient implements IEthClient {
             throw new IllegalArgumentException("Unsupported ETH network: " + network);
         }
         
-        Web3j web3j = createWeb3j(rpcUrl);
+        Web3j web3j = web3j(network);
         try {
-            // Get balance
-            Function balanceFunction = new Function(
-                "balanceOf", 
-                List.of(new Address(walletAddress)), 
-                List.of(new TypeReference<Uint256>() {})
-            );
-            String encodedBalanceFunction = FunctionEncoder.encode(balanceFunction);
-            
-            EthCall balanceCall = web3j.ethCall(
-                Transaction.createEthCallTransaction(walletAddress, tokenAddress, encodedBalanceFunction),
-                DefaultBlockParameterName.LATEST
-            ).send();
+            String balanceData = Erc20Codec.balanceOf(walletAddress);
             
-            String balanceResult = balanceCall.getValue();
-            List<Type> balanceDecoded = FunctionReturnDecoder.decode(balanceResult, balanceFunction.getOutputParameters());
-            BigInteger balance = balanceDecoded.isEmpty() ? BigInteger.ZERO : (BigInteger) balanceDecoded.get(0).getValue();
-            
-            // Get decimals
-            Function decimalsFunction = new Function(
-                "decimals", 
-                List.of(), 
-                List.of(new TypeReference<Uint8>() {})
-            );
-            String encodedDecimalsFunction = FunctionEncoder.encode(decimalsFunction);
-            
-            EthCall decimalsCall = web3j.ethCall(
-                Transaction.createEthCallTransaction(walletAddress, tokenAddress, encodedDecimalsFunction),
-                DefaultBlockParameterName.LATEST
-            ).send();
-            
-            String decimalsResult = decimalsCall.getValue();
-            List<Type> decimalsDecoded = FunctionReturnDecoder.decode(decimalsResult, decimalsFunction.getOutputParameters());
-            BigInteger decimals = decimalsDecoded.isEmpty() ? BigInteger.valueOf(18) : (BigInteger) decimalsDecoded.get(0).getValue();
-            
-            // Get symbol
-            Function symbolFunction = new Function(
-                "symbol", 
-                List.of(), 
-                List.of(new TypeReference<Utf8String>() {})
-            );
-            String encodedSymbolFunction = FunctionEncoder.encode(symbolFunction);
-            
-            EthCall symbolCall = web3j.ethCall(
-                Transaction.createEthCallTransaction(walletAddress, tokenAddress, encodedSymbolFunction),
-                DefaultBlockParameterName.LATEST
-            ).send();
-            
-            String symbolResult = symbolCall.getValue();
-            List<Type> symbolDecoded = FunctionReturnDecoder.decode(symbolResult, symbolFunction.getOutputParameters());
-            String symbol = symbolDecoded.isEmpty() ? "" : (String) symbolDecoded.get(0).getValue();
-            
-            // Get name
-            Function nameFunction = new Function(
-                "name", 
-                List.of(), 
-                List.of(new TypeReference<Utf8String>() {})
-            );
-            String encodedNameFunction = FunctionEncoder.encode(nameFunction);
-            
-            EthCall nameCall = web3j.ethCall(
-                Transaction.createEthCallTransaction(walletAddress, tokenAddress, encodedNameFunction),
-                DefaultBlockParameterName.LATEST
-            ).send();
+            // Token metadata never changes, so once it is cached only balanceOf is needed
+            TokenMetadata metadata = tokenMetadataCache.get(network, tokenAddress);
+            Response<?> balanceCall;
+            if (metadata != null) {
+                balanceCall = ethCall(web3j, walletAddress, tokenAddress, balanceData).send();
+            } else {
+                // Send balanceOf, decimals, symbol and name as one JSON-RPC batch
+                List<Response<?>> responses = sendBatch(web3j, List.of(
+                    ethCall(web3j, walletAddress, tokenAddress, balanceData),
+                    ethCall(web3j, walletAddress, tokenAddress, Erc20Codec.DECIMALS),
+                    ethCall(web3j, walletAddress, tokenAddress, Erc20Codec.SYMBOL),
+                    ethCall(web3j, walletAddress, tokenAddress, Erc20Codec.NAME)
+                ));
+                balanceCall = responses.get(0);
+                
+                Integer decimals = Erc20Codec.decodeUint8(callResult(responses.get(1)));
+                String symbol = Erc20Codec.decodeString(callResult(responses.get(2)));
+                String name = Erc20Codec.decodeString(callResult(responses.get(3)));
+                
+                metadata = new TokenMetadata(
+                    name == null ? "" : name,
+                    symbol == null ? "" : symbol,
+                    decimals == null ? "18" : decimals.toString()
+                );
+                // Only cache real values, never the fallback defaults
+                if (decimals != null && symbol != null && name != null) {
+                    tokenMetadataCache.put(network, tokenAddress, metadata);
+                }
+            }
             
-            String nameResult = nameCall.getValue();
-            List<Type> nameDecoded = FunctionReturnDecoder.decode(nameResult, nameFunction.getOutputParameters());
-            String name = nameDecoded.isEmpty() ? "" : (String) nameDecoded.get(0).getValue();
+            if (balanceCall == null || balanceCall.hasError()) {
+                String reason = balanceCall == null ? "missing response" : balanceCall.getError().getMessage();
+                throw new IOException("balanceOf call failed: " + reason);
+            }
+            BigInteger balance = Erc20Codec.decodeUint256(callResult(balanceCall));
+            if (balance == null) {
+                balance = BigInteger.ZERO;
+            }
             
             // Create response
             return new com.example.wallet.domain.eth.TokenBalanceResponse(
@@ -190,9 +213,9 @@ public class EthClient implements IEthClient {
                 network, 
                 walletAddress, 
                 "0x" + balance.toString(16), 
-                symbol,
-                name,
-                decimals.toString()
+                metadata.symbol(),
+                metadata.name(),
+                metadata.decimals()
             );
             
         } catch (IOException e) {
@@ -202,6 +225,147 @@ public class EthClient implements IEthClient {
         }
     }
     
+    /**
+     * Get the ETH balance and many ERC-20 token balances of an address
+     * Every balanceOf, the ETH balance (via Multicall3.getEthBalance) and any uncached token metadata
+     * are aggregated into a single Multicall3 aggregate3 eth_call
+     * 
+     * @param network the Ethereum network
+     * @param ownerAddress the wallet address
+     * @param tokenAddresses the token contract addresses
+     * @return the portfolio with token balances in request order
+     */
+    @Override
+    public PortfolioResponse getPortfolio(String network, String ownerAddress, List<String> tokenAddresses) {
+        String rpcUrl = appProperties.getRpc().getEth().get(network);
+        if (rpcUrl == null) {
+            throw new IllegalArgumentException("Unsupported ETH network: " + network);
+        }
+        
+        Web3j web3j = web3j(network);
+        try {
+            String balanceData = Erc20Codec.balanceOf(ownerAddress);
+            
+            // ETH balance first, then balanceOf per token, followed by metadata calls for uncached tokens
+            List<Multicall3.Call> calls = new ArrayList<>();
+            calls.add(new Multicall3.Call(Multicall3.ADDRESS, Multicall3.getEthBalance(ownerAddress)));
+            TokenMetadata[] cached = new TokenMetadata[tokenAddresses.size()];
+            for (int i = 0; i < tokenAddresses.size(); i++) {
+                String tokenAddress = tokenAddresses.get(i);
+                calls.add(new Multicall3.Call(tokenAddress, balanceData));
+                cached[i] = tokenMetadataCache.get(network, tokenAddress);
+                if (cached[i] == null) {
+                    calls.add(new Multicall3.Call(tokenAddress, Erc20Codec.DECIMALS));
+                    calls.add(new Multicall3.Call(tokenAddress, Erc20Codec.SYMBOL));
+                    calls.add(new Multicall3.Call(tokenAddress, Erc20Codec.NAME));
+                }
+            }
+            
+            EthCall aggregate = web3j.ethCall(
+                Transaction.createEthCallTransaction(ownerAddress, Multicall3.ADDRESS, Multicall3.encodeAggregate3(calls)),
+                DefaultBlockParameterName.LATEST
+            ).send();
+            if (aggregate.hasError()) {
+                throw new IOException("aggregate3 call failed: " + aggregate.getError().getMessage());
+            }
+            List<Multicall3.Result> results = Multicall3.decodeAggregate3(aggregate.getValue());
+            if (results.size() != calls.size()) {
+                throw new IOException("aggregate3 returned " + results.size() + " results for " + calls.size() + " calls");
+            }
+            
+            int cursor = 0;
+            String ethBalance = hexBalance(results.get(cursor++));
+            List<TokenBalanceResponse> tokens = new ArrayList<>(tokenAddresses.size());
+            for (int i = 0; i < tokenAddresses.size(); i++) {
+                String tokenAddress = tokenAddresses.get(i);
+                String balance = hexBalance(results.get(cursor++));
+                TokenMetadata metadata = cached[i];
+                if (metadata == null) {
+                    Multicall3.Result decimalsResult = results.get(cursor++);
+                    Multicall3.Result symbolResult = results.get(cursor++);
+                    Multicall3.Result nameResult = results.get(cursor++);
+                    Integer decimals = decimalsResult.success() ? Erc20Codec.decodeUint8(decimalsResult.returnData()) : null;
+                    String symbol = symbolResult.success() ? Erc20Codec.decodeString(symbolResult.returnData()) : null;
+                    String name = nameResult.success() ? Erc20Codec.decodeString(nameResult.returnData()) : null;
+                    metadata = new TokenMetadata(
+                        name == null ? "" : name,
+                        symbol == null ? "" : symbol,
+                        decimals == null ? "18" : decimals.toString()
+                    );
+                    // Only cache real values, never the fallback defaults
+                    if (decimals != null && symbol != null && name != null) {
+                        tokenMetadataCache.put(network, tokenAddress, metadata);
+                    }
+                }
+                tokens.add(new TokenBalanceResponse(
+                    tokenAddress, 
+                    network, 
+                    ownerAddress, 
+                    balance, 
+                    metadata.symbol(), 
+                    metadata.name(), 
+                    metadata.decimals()
+                ));
+            }
+            
+            return new PortfolioResponse(network, ownerAddress, ethBalance, tokens);
+            
+        } catch (IOException e) {
+            logger.error("Failed to fetch portfolio for address {}: {}", ownerAddress, e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch portfolio: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Format a uint256 Multicall3 result as a 0x-prefixed hex balance, or null if the call failed
+     */
+    private String hexBalance(Multicall3.Result result) {
+        BigInteger value = result.success() ? Erc20Codec.decodeUint256(result.returnData()) : null;
+        return value == null ? null : "0x" + value.toString(16);
+    }
+    
+    /**
+     * Build an eth_call request against the latest block
+     */
+    private Request<?, EthCall> ethCall(Web3j web3j, String from, String contractAddress, String data) {
+        return web3j.ethCall(
+            Transaction.createEthCallTransaction(from, contractAddress, data),
+            DefaultBlockParameterName.LATEST
+        );
+    }
+    
+    /**
+     * The raw return data of an eth_call, or null if the call failed
+     */
+    private String callResult(Response<?> response) {
+        if (!(response instanceof EthCall call) || call.hasError()) {
+            return null;
+        }
+        return call.getValue();
+    }
+    
+    /**
+     * Send requests as a single JSON-RPC batch
+     * Responses are matched back to their requests by id, since a node may answer a batch in any order
+     * 
+     * @return responses in request order, with null for any request the node did not answer
+     */
+    protected List<Response<?>> sendBatch(Web3j web3j, List<? extends Request<?, ? extends Response<?>>> requests) throws IOException {
+        BatchRequest batch = web3j.newBatch();
+        requests.forEach(batch::add);
+        BatchResponse batchResponse = batch.send();
+        
+        Map<Long, Response<?>> byId = new HashMap<>();
+        for (Response<?> response : batchResponse.getResponses()) {
+            byId.put(response.getId(), response);
+        }
+        List<Response<?>> ordered = new ArrayList<>(requests.size());
+        for (Request<?, ? extends Response<?>> request : requests) {
+            ordered.add(byId.get(request.getId()));
+        }
+        return ordered;
+    }
+    
     @Override
     public GasFeeSuggestion getGasFees(String network) {
         return getGasFeeSuggestion(network);
@@ -218,7 +382,7 @@ public class EthClient implements IEthClient {
             throw new IllegalArgumentException("Unsupported ETH network: " + network);
         }
         
-        Web3j web3j = createWeb3j(rpcUrl);
+        Web3j web3j = web3j(network);
         try {
             // Get current gas price from the network
             EthGasPrice gasPrice = web3j.ethGasPrice().send();
@@ -291,6 +455,80 @@ public class EthClient implements IEthClient {
         }
     }
     
+    /**
+     * Get EIP-1559 fee suggestions from the last blocks' fee history
+     * The base fee is the one predicted for the next block, and each tier's priority fee is
+     * the median over recent blocks of the tier's reward percentile
+     */
+    @Override
+    public GasFeeSuggestion getFeeHistorySuggestion(String network) {
+        String rpcUrl = appProperties.getRpc().getEth().get(network);
+        if (rpcUrl == null) {
+            throw new IllegalArgumentException("Unsupported ETH network: " + network);
+        }
+
+        Web3j web3j = web3j(network);
+        try {
+            EthFeeHistory response = web3j.ethFeeHistory(FEE_HISTORY_BLOCKS, DefaultBlockParameterName.LATEST,
+                    FEE_HISTORY_PERCENTILES).send();
+            if (response.hasError()) {
+                throw new IOException(response.getError().getMessage());
+            }
+            EthFeeHistory.FeeHistory history = response.getFeeHistory();
+            List<BigInteger> baseFees = history == null ? null : history.getBaseFeePerGas();
+            List<List<BigInteger>> rewards = history == null ? null : history.getReward();
+            if (baseFees == null || baseFees.isEmpty() || rewards == null || rewards.isEmpty()) {
+                // Networks without EIP-1559 report no base fee
+                logger.debug("No fee history for {}, falling back to gas price", network);
+                return getGasFeeSuggestion(network);
+            }
+
+            // The last entry is the base fee of the next block
+            BigDecimal nextBaseFee = new BigDecimal(baseFees.get(baseFees.size() - 1));
+            GasFeeSuggestion suggestion = new GasFeeSuggestion();
+            suggestion.setBaseFee(formatGwei(nextBaseFee));
+            suggestion.setUnit("gwei");
+
+            GasFeeSuggestion.GasFeeDetail[] tiers = new GasFeeSuggestion.GasFeeDetail[FEE_HISTORY_PERCENTILES.size()];
+            for (int tier = 0; tier < tiers.length; tier++) {
+                BigDecimal priorityFee = new BigDecimal(medianReward(rewards, tier));
+                GasFeeSuggestion.GasFeeDetail detail = new GasFeeSuggestion.GasFeeDetail();
+                detail.setMaxFee(formatGwei(nextBaseFee.multiply(BigDecimal.valueOf(BASE_FEE_MULTIPLIERS[tier])).add(priorityFee)));
+                detail.setMaxPriorityFee(formatGwei(priorityFee));
+                detail.setEstimatedSeconds(ESTIMATED_SECONDS[tier]);
+                tiers[tier] = detail;
+            }
+            suggestion.setSlow(tiers[0]);
+            suggestion.setAverage(tiers[1]);
+            suggestion.setFast(tiers[2]);
+            suggestion.setFastest(tiers[3]);
+
+            logger.debug("Fee history suggestion for {}: {}", network, suggestion);
+            return suggestion;
+        } catch (IOException e) {
+            logger.error("Failed to fetch fee history", e);
+            throw new RuntimeException("Failed to fetch fee history: " + e.getMessage(), e);
+        }
+    }
+
+    private static BigInteger medianReward(List<List<BigInteger>> rewards, int tier) {
+        List<BigInteger> values = new ArrayList<>(rewards.size());
+        for (List<BigInteger> blockRewards : rewards) {
+            if (blockRewards != null && blockRewards.size() > tier) {
+                values.add(blockRewards.get(tier));
+            }
+        }
+        if (values.isEmpty()) {
+            return BigInteger.ZERO;
+        }
+        values.sort(null);
+        return values.get(values.size() / 2);
+    }
+
+    static String formatGwei(BigDecimal wei) {
+        return String.format("%.4f", Convert.fromWei(wei, Convert.Unit.GWEI).setScale(4, RoundingMode.HALF_UP));
+    }
+
     /**
      * Send an already signed Ethereum transaction
      * This method accepts a transaction that was already signed by the client app
@@ -305,7 +543,7 @@ public class EthClient implements IEthClient {
             throw new IllegalArgumentException("Unsupported ETH network: " + network);
         }
         
-        Web3j web3j = createWeb3j(rpcUrl);
+        Web3j web3j = web3j(network);
         EthTransferResponse response = new EthTransferResponse();
         
         try {
@@ -350,37 +588,7 @@ public class EthClient implements IEthClient {
             response.setTransactionHash(transactionHash);
             response.setStatus("pending");
             
-            // Wait for transaction receipt if needed
-            // Note: In production, this should be done asynchronously
-            EthGetTransactionReceipt transactionReceipt = web3j
-                .ethGetTransactionReceipt(transactionHash)
-                .send();
-            
-            if (transactionReceipt.getTransactionReceipt().isPresent()) {
-                TransactionReceipt receipt = transactionReceipt.getTransactionReceipt().get();
-                
-                // If transaction info not provided in request, get it from receipt
-                if (response.getFrom() == null) {
-                    response.setFrom(receipt.getFrom());
-                }
-                if (response.getTo() == null) {
-                    response.setTo(receipt.getTo());
-                }
-                
-                response.setBlockHash(receipt.getBlockHash());
-                response.setBlockNumber(receipt.getBlockNumber().toString());
-                response.setGasUsed(receipt.getGasUsed().toString());
-                
-                // Check transaction status (only for post-Byzantium)
-                if (receipt.getStatus() != null) {
-                    boolean success = receipt.isStatusOK();
-                    response.setStatus(success ? "confirmed" : "failed");
-                    if (!success) {
-                        response.setError("Transaction execution failed");
-                    }
-                }
-            }
-            
+            // Confirmation is tracked in the background, so the broadcast returns as soon as the node accepts it
             return response;
             
         } catch (IOException e) {
@@ -417,7 +625,7 @@ public class EthClient implements IEthClient {
             throw new IllegalArgumentException("Unsupported ETH network: " + network);
         }
         
-        Web3j web3j = Web3j.build(new HttpService(rpcUrl));
+        Web3j web3j = web3j(network);
         TokenTransferResponse response = new TokenTransferResponse();
         
         try {
@@ -468,37 +676,7 @@ public class EthClient implements IEthClient {
             response.setTransactionHash(transactionHash);
             response.setStatus("pending");
             
-            // Wait for transaction receipt if needed
-            // Note: In production, this should be done asynchronously
-            EthGetTransactionReceipt transactionReceipt = web3j
-                .ethGetTransactionReceipt(transactionHash)
-                .send();
-            
-            if (transactionReceipt.getTransactionReceipt().isPresent()) {
-                TransactionReceipt receipt = transactionReceipt.getTransactionReceipt().get();
-                
-                // If transaction info not provided in request, get it from receipt
-                if (response.getFrom() == null) {
-                    response.setFrom(receipt.getFrom());
-                }
-                if (response.getTo() == null) {
-                    response.setTo(receipt.getTo());
-                }
-                
-                response.setBlockHash(receipt.getBlockHash());
-                response.setBlockNumber(receipt.getBlockNumber().toString());
-                response.setGasUsed(receipt.getGasUsed().toString());
-                
-                // Check transaction status (only for post-Byzantium)
-                if (receipt.getStatus() != null) {
-                    boolean success = receipt.isStatusOK();
-                    response.setStatus(success ? "confirmed" : "failed");
-                    if (!success) {
-                        response.setError("Transaction execution failed");
-                    }
-                }
-            }
-            
+            // Confirmation is tracked in the background, so the broadcast returns as soon as the node accepts it
             return response;
             
         } catch (IOException e) {
@@ -520,7 +698,7 @@ public class EthClient implements IEthClient {
             throw new IllegalArgumentException("Unsupported ETH network: " + network);
         }
         
-        Web3j web3j = Web3j.build(new HttpService(rpcUrl));
+        Web3j web3j = web3j(network);
         TransactionStatusResponse response = new TransactionStatusResponse();
         response.setTransactionHash(txHash);
         
@@ -547,54 +725,8 @@ public class EthClient implements IEthClient {
                     
                     if (!receiptResponse.hasError() && receiptResponse.getTransactionReceipt().isPresent()) {
                         TransactionReceipt receipt = receiptResponse.getTransactionReceipt().get();
-                        
-                        response.setBlockHash(receipt.getBlockHash());
-                        response.setBlockNumber(receipt.getBlockNumber().toString());
-                        response.setGasUsed(receipt.getGasUsed().toString());
-                        response.setCumulativeGasUsed(receipt.getCumulativeGasUsed().toString());
-                        
-                        // For post-Byzantium transactions
-                        if (receipt.getStatus() != null) {
-                            boolean success = receipt.isStatusOK();
-                            response.setStatus(success ? "success" : "failed");
-                            if (!success) {
-                                response.setError("Transaction execution failed");
-                            }
-                        }
-                        
-                        // If transaction created a contract
-                        if (receipt.getContractAddress() != null) {
-                            response.setContractAddress(receipt.getContractAddress());
-                        }
-                        
-                        // Get effective gas price if available (EIP-1559)
-                        if (receipt.getEffectiveGasPrice() != null) {
-                            response.setEffectiveGasPrice(receipt.getEffectiveGasPrice().toString());
-                        }
-                        
-                        // Get logs bloom
-                        response.setLogsBloom(receipt.getLogsBloom());
-                        
-                        // Process logs
-                        List<TransactionStatusResponse.TransactionLog> logs = new ArrayList<>();
-                        for (Log log : receipt.getLogs()) {
-                            TransactionStatusResponse.TransactionLog txLog = new TransactionStatusResponse.TransactionLog();
-                            txLog.setAddress(log.getAddress());
-                            txLog.setData(log.getData());
-                            txLog.setBlockHash(log.getBlockHash());
-                            txLog.setBlockNumber(log.getBlockNumber().toString());
-                            txLog.setLogIndex(log.getLogIndex().toString());
-                            txLog.setTransactionIndex(log.getTransactionIndex().toString());
-                            txLog.setTopics(log.getTopics());
-                            logs.add(txLog);
-                        }
-                        response.setLogs(logs);
-                        
-                        // Get confirmation count
-                        EthBlockNumber currentBlock = web3j.ethBlockNumber().send();
-                        BigInteger confirmations = currentBlock.getBlockNumber()
-                                .subtract(receipt.getBlockNumber());
-                        response.setConfirmationCount(confirmations.intValue());
+                        applyReceipt(response, receipt);
+                        // The confirmation count is derived from the tracked chain head by the caller
                     }
                 } else {
                     // Transaction is pending
@@ -621,6 +753,94 @@ public class EthClient implements IEthClient {
         }
     }
     
+    /**
+     * Get the receipts of many transactions with one JSON-RPC batch
+     * Transactions that are still pending or unknown are left out of the result
+     */
+    @Override
+    public Map<String, TransactionStatusResponse> getTransactionReceipts(String network, List<String> txHashes) {
+        String rpcUrl = appProperties.getRpc().getEth().get(network);
+        if (rpcUrl == null) {
+            throw new IllegalArgumentException("Unsupported ETH network: " + network);
+        }
+
+        Web3j web3j = web3j(network);
+        try {
+            List<Request<?, EthGetTransactionReceipt>> requests = new ArrayList<>(txHashes.size());
+            for (String txHash : txHashes) {
+                requests.add(web3j.ethGetTransactionReceipt(txHash));
+            }
+            List<Response<?>> responses = sendBatch(web3j, requests);
+
+            Map<String, TransactionStatusResponse> receipts = new HashMap<>();
+            for (int i = 0; i < txHashes.size(); i++) {
+                if (!(responses.get(i) instanceof EthGetTransactionReceipt receiptResponse)
+                        || receiptResponse.hasError() || receiptResponse.getTransactionReceipt().isEmpty()) {
+                    continue;
+                }
+                TransactionReceipt receipt = receiptResponse.getTransactionReceipt().get();
+                TransactionStatusResponse status = new TransactionStatusResponse();
+                status.setTransactionHash(txHashes.get(i));
+                status.setFrom(receipt.getFrom());
+                status.setTo(receipt.getTo());
+                applyReceipt(status, receipt);
+                // The price actually paid, which is what eth_getTransactionByHash reports for a mined transaction
+                if (receipt.getEffectiveGasPrice() != null) {
+                    status.setGasPrice(Numeric.decodeQuantity(receipt.getEffectiveGasPrice()).toString());
+                }
+                receipts.put(txHashes.get(i), status);
+            }
+            return receipts;
+        } catch (IOException e) {
+            logger.error("Failed to fetch transaction receipts: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch transaction receipts: " + e.getMessage(), e);
+        }
+    }
+
+    private void applyReceipt(TransactionStatusResponse response, TransactionReceipt receipt) {
+        response.setBlockHash(receipt.getBlockHash());
+        response.setBlockNumber(receipt.getBlockNumber().toString());
+        response.setGasUsed(receipt.getGasUsed().toString());
+        response.setCumulativeGasUsed(receipt.getCumulativeGasUsed().toString());
+
+        // For post-Byzantium transactions
+        if (receipt.getStatus() != null) {
+            boolean success = receipt.isStatusOK();
+            response.setStatus(success ? "success" : "failed");
+            if (!success) {
+                response.setError("Transaction execution failed");
+            }
+        }
+
+        // If transaction created a contract
+        if (receipt.getContractAddress() != null) {
+            response.setContractAddress(receipt.getContractAddress());
+        }
+
+        // Get effective gas price if available (EIP-1559)
+        if (receipt.getEffectiveGasPrice() != null) {
+            response.setEffectiveGasPrice(receipt.getEffectiveGasPrice().toString());
+        }
+
+        // Get logs bloom
+        response.setLogsBloom(receipt.getLogsBloom());
+
+        // Process logs
+        List<TransactionStatusResponse.TransactionLog> logs = new ArrayList<>();
+        for (Log log : receipt.getLogs()) {
+            TransactionStatusResponse.TransactionLog txLog = new TransactionStatusResponse.TransactionLog();
+            txLog.setAddress(log.getAddress());
+            txLog.setData(log.getData());
+            txLog.setBlockHash(log.getBlockHash());
+            txLog.setBlockNumber(log.getBlockNumber().toString());
+            txLog.setLogIndex(log.getLogIndex().toString());
+            txLog.setTransactionIndex(log.getTransactionIndex().toString());
+            txLog.setTopics(log.getTopics());
+            logs.add(txLog);
+        }
+        response.setLogs(logs);
+    }
+    
     @Override
     public EthTransferResponse sendTransaction(String network, String privateKey, String toAddress, String amount, String gasPrice, String gasLimit) {
         throw new UnsupportedOperationException("Method not implemented yet");
@@ -633,12 +853,17 @@ public class EthClient implements IEthClient {
     
     /**
      * Get the chain ID for the specified Ethereum network
+     * The value is fetched once per network and then served from memory
      * 
      * @param network The network name (e.g., "mainnet", "sepolia")
      * @return The chain ID as a long value
      */
     @Override
     public long getChainId(String network) throws IOException {
+        Long pinned = chainIds.get(network);
+        if (pinned != null) {
+            return pinned;
+        }
         try {
             // Get the RPC URL for the specified network
             Map<String, String> ethRpcMap = appProperties.getRpc().getEth();
@@ -653,8 +878,8 @@ public class EthClient implements IEthClient {
                 throw new IllegalArgumentException("Network " + network + " is not configured");
             }
             
-            // Create a Web3j instance for the RPC URL
-            Web3j web3j = createWeb3j(rpcUrl);
+            // Use the pooled Web3j instance for the network
+            Web3j web3j = web3j(network);
             
             // Get the chain ID from the network
             EthChainId chainIdResponse = web3j.ethChainId().send();
@@ -663,7 +888,9 @@ public class EthClient implements IEthClient {
                 throw new IOException("Error fetching chain ID: " + chainIdResponse.getError().getMessage());
             }
             
-            return chainIdResponse.getChainId().longValue();
+            long chainId = chainIdResponse.getChainId().longValue();
+            chainIds.put(network, chainId);
+            return chainId;
         } catch (IOException e) {
             logger.error("Failed to get chain ID for network {}: {}", network, e.getMessage(), e);
             throw e; // Re-throw the original IOException instead of wrapping it
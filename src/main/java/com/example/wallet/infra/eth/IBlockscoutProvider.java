@@ -5,10 +5,20 @@ import com.example.wallet.domain.eth.BlockscoutTokenInfo;
 import com.example.wallet.domain.eth.BlockscoutTokenListResponse;
 import com.example.wallet.domain.eth.TokenTransferListResponse;
 
+import java.io.OutputStream;
+
 public interface IBlockscoutProvider {
     BlockscoutTokenListResponse getTokens(String network, String tokenSymbol, String type);
     BlockscoutTokenInfo getTokenByAddress(String network, String tokenAddress);
     TokenTransferListResponse getTokenTransfers(String network, String address, String tokenAddress, String type);
     BlockscoutTransactionResponse getTransactionsAsObject(String network, String address, String filter);
     String getTransactions(String network, String address, String filter);
+    /**
+     * Copy the raw transactions JSON from Blockscout straight into the given stream
+     * @param network Network name (e.g. "sepolia")
+     * @param address Wallet address
+     * @param filter Optional Blockscout filter (e.g. "to", "from")
+     * @param out Destination of the response body
+     */
+    void streamTransactions(String network, String address, String filter, OutputStream out);
 }
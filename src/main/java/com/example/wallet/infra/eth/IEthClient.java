@@ -1,12 +1,15 @@
 package com.example.wallet.infra.eth;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
+import com.example.wallet.domain.AddressBalance;
 import com.example.wallet.domain.eth.EthTransferRequest;
 import com.example.wallet.domain.eth.EthTransferResponse;
 import com.example.wallet.domain.eth.GasFeeSuggestion;
 import com.example.wallet.domain.eth.NonceResponse;
+import com.example.wallet.domain.eth.PortfolioResponse;
 import com.example.wallet.domain.eth.TokenBalanceResponse;
 import com.example.wallet.domain.eth.TokenTransferRequest;
 import com.example.wallet.domain.eth.TokenTransferResponse;
@@ -14,15 +17,43 @@ import com.example.wallet.domain.eth.TransactionStatusResponse;
 
 public interface IEthClient {
     String getBalance(String network, String address);
+    /**
+     * Get the ETH balances of many addresses with one JSON-RPC batch
+     * @param network The network name (e.g., "mainnet", "sepolia")
+     * @param addresses The addresses to query
+     * @return one entry per address in request order, with an error instead of a balance if its call failed
+     */
+    List<AddressBalance> getBalances(String network, List<String> addresses);
     TokenBalanceResponse getTokenBalance(String network, String contractAddress, String ownerAddress);
+    /**
+     * Get the ETH balance and the balances of many ERC-20 tokens in one RPC request
+     * @param network The network name (e.g., "mainnet", "sepolia")
+     * @param ownerAddress The wallet address
+     * @param tokenAddresses The token contract addresses
+     * @return ETH balance and token balances in the order the tokens were given
+     */
+    PortfolioResponse getPortfolio(String network, String ownerAddress, List<String> tokenAddresses);
     NonceResponse getNonce(String network, String address);
     GasFeeSuggestion getGasFees(String network);
     GasFeeSuggestion getGasFeeSuggestion(String network);
+    /**
+     * Get EIP-1559 fee suggestions from recent eth_feeHistory reward percentiles
+     * @param network The network name (e.g., "mainnet", "sepolia")
+     * @return base fee and fee tiers in gwei, or the gas price based suggestion on networks without base fees
+     */
+    GasFeeSuggestion getFeeHistorySuggestion(String network);
     EthTransferResponse sendTransaction(String network, EthTransferRequest request);
     EthTransferResponse sendTransaction(String network, String privateKey, String toAddress, String amount, String gasPrice, String gasLimit);
     TokenTransferResponse sendTokenTransaction(String network, TokenTransferRequest request);
     TokenTransferResponse sendTokenTransaction(String network, String privateKey, String contractAddress, String toAddress, String amount, String gasPrice, String gasLimit);
     TransactionStatusResponse getTransactionStatus(String network, String txHash);
+    /**
+     * Get the receipts of many transactions with one JSON-RPC batch
+     * @param network The network name (e.g., "mainnet", "sepolia")
+     * @param txHashes The transaction hashes to look up
+     * @return status built from the receipt, keyed by hash; transactions not mined yet are absent
+     */
+    Map<String, TransactionStatusResponse> getTransactionReceipts(String network, List<String> txHashes);
     /**
      * Get the chain ID for the specified Ethereum network
      * @param network The network name (e.g., "mainnet", "sepolia")
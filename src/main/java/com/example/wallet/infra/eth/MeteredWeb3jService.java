@@ -0,0 +1,82 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.infra.upstream.UpstreamMetrics;
+import io.reactivex.Flowable;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Web3jService that times every JSON-RPC call sent to one endpoint
+ * Single calls are tagged with their method; batches are recorded as one "batch" call along with their size
+ */
+class MeteredWeb3jService implements Web3jService {
+    private static final String CHAIN = "eth";
+
+    private final String network;
+    private final String provider;
+    private final Web3jService delegate;
+    private final UpstreamMetrics upstreamMetrics;
+
+    MeteredWeb3jService(String network, String provider, Web3jService delegate, UpstreamMetrics upstreamMetrics) {
+        this.network = network;
+        this.provider = provider;
+        this.delegate = delegate;
+        this.upstreamMetrics = upstreamMetrics;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        long start = System.nanoTime();
+        String outcome = UpstreamMetrics.ERROR;
+        try {
+            T response = delegate.send(request, responseType);
+            outcome = response != null && response.hasError() ? UpstreamMetrics.RPC_ERROR : UpstreamMetrics.SUCCESS;
+            return response;
+        } finally {
+            upstreamMetrics.record(CHAIN, network, provider, request.getMethod(), outcome, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        return Async.run(() -> send(request, responseType));
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        upstreamMetrics.recordBatchSize(CHAIN, network, provider, batchRequest.getRequests().size());
+        long start = System.nanoTime();
+        String outcome = UpstreamMetrics.ERROR;
+        try {
+            BatchResponse response = delegate.sendBatch(batchRequest);
+            boolean rpcError = response.getResponses().stream().anyMatch(item -> item != null && item.hasError());
+            outcome = rpcError ? UpstreamMetrics.RPC_ERROR : UpstreamMetrics.SUCCESS;
+            return response;
+        } finally {
+            upstreamMetrics.record(CHAIN, network, provider, "batch", outcome, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return Async.run(() -> sendBatch(batchRequest));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod, Class<T> responseType) {
+        return delegate.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
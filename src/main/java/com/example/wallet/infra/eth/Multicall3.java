@@ -0,0 +1,119 @@
+package com.example.wallet.infra.eth;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ABI helpers for the Multicall3 contract
+ * Multicall3 is deployed at the same address on mainnet, Sepolia and most EVM chains,
+ * and lets many read calls be executed in a single eth_call
+ */
+final class Multicall3 {
+    static final String ADDRESS = "0xcA11bde05977b3631167028862bE2a173976CA11";
+
+    // aggregate3((address,bool,bytes)[])
+    private static final String AGGREGATE3_SELECTOR = "82ad56cb";
+    // getEthBalance(address)
+    private static final String GET_ETH_BALANCE_SELECTOR = "0x4d2301cc";
+    private static final int WORD = 64; // hex chars per 32-byte ABI word
+
+    private Multicall3() {
+    }
+
+    /**
+     * A single call to batch: target contract and ABI-encoded call data (0x-prefixed)
+     */
+    record Call(String target, String callData) {}
+
+    /**
+     * The outcome of a single call: success flag and raw return data (0x-prefixed)
+     */
+    record Result(boolean success, String returnData) {}
+
+    /**
+     * Encode aggregate3 call data, with allowFailure set on every call
+     * so one reverting token does not fail the whole batch
+     */
+    static String encodeAggregate3(List<Call> calls) {
+        int count = calls.size();
+        List<String> tuples = new ArrayList<>(count);
+        for (Call call : calls) {
+            String data = strip(call.callData());
+            int length = data.length() / 2;
+            tuples.add(addressWord(call.target())
+                    + uintWord(1)                 // allowFailure
+                    + uintWord(3 * 32)            // offset of bytes within the tuple
+                    + uintWord(length)
+                    + padRight(data));
+        }
+
+        StringBuilder encoded = new StringBuilder("0x")
+                .append(AGGREGATE3_SELECTOR)
+                .append(uintWord(32))             // offset of the array
+                .append(uintWord(count));
+        // Tuple offsets are relative to the first offset slot
+        long offset = (long) count * 32;
+        for (String tuple : tuples) {
+            encoded.append(uintWord(offset));
+            offset += tuple.length() / 2;
+        }
+        tuples.forEach(encoded::append);
+        return encoded.toString();
+    }
+
+    /**
+     * Decode the (bool success, bytes returnData)[] returned by aggregate3
+     */
+    static List<Result> decodeAggregate3(String returnValue) {
+        String hex = strip(returnValue);
+        int arrayStart = uintAt(hex, 0);
+        int count = uintAt(hex, arrayStart);
+        int elements = arrayStart + 32;
+
+        List<Result> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int tupleStart = elements + uintAt(hex, elements + i * 32);
+            boolean success = uintAt(hex, tupleStart) != 0;
+            int dataStart = tupleStart + uintAt(hex, tupleStart + 32);
+            int length = uintAt(hex, dataStart);
+            int from = (dataStart + 32) * 2;
+            results.add(new Result(success, "0x" + hex.substring(from, from + length * 2)));
+        }
+        return results;
+    }
+
+    /**
+     * Encode getEthBalance(address) call data, so an ETH balance can ride along in an aggregate3 batch
+     */
+    static String getEthBalance(String address) {
+        return Erc20Codec.encodeAddressCall(GET_ETH_BALANCE_SELECTOR, address);
+    }
+
+    private static int uintAt(String hex, int byteOffset) {
+        int from = byteOffset * 2;
+        return new BigInteger(hex.substring(from, from + WORD), 16).intValueExact();
+    }
+
+    private static String addressWord(String address) {
+        return leftPad(strip(address).toLowerCase(Locale.ROOT));
+    }
+
+    private static String uintWord(long value) {
+        return leftPad(Long.toHexString(value));
+    }
+
+    private static String leftPad(String hex) {
+        return "0".repeat(WORD - hex.length()) + hex;
+    }
+
+    private static String padRight(String hex) {
+        int remainder = hex.length() % WORD;
+        return remainder == 0 ? hex : hex + "0".repeat(WORD - remainder);
+    }
+
+    private static String strip(String hex) {
+        return hex.startsWith("0x") || hex.startsWith("0X") ? hex.substring(2) : hex;
+    }
+}
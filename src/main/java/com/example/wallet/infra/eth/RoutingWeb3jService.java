@@ -0,0 +1,199 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.infra.upstream.EndpointHealth;
+import com.example.wallet.infra.upstream.Upstream;
+import com.example.wallet.infra.upstream.UpstreamRouter;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthChainId;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Web3jService that spreads JSON-RPC calls of one network over several endpoints
+ * Reads go to the endpoint with the best latency score and may be hedged; transaction submission and
+ * nonce lookups stick to the endpoint that last accepted a write, so a sender's pending transactions
+ * and nonces are seen by the same node. Transport errors and rate-limit replies fail over to the next endpoint.
+ * Endpoints reporting a different chain ID than the rest of the pool can be evicted
+ */
+class RoutingWeb3jService implements Web3jService {
+    private static final Logger logger = LoggerFactory.getLogger(RoutingWeb3jService.class);
+    // Methods whose result depends on the node's own mempool
+    private static final Set<String> STICKY_METHODS =
+            Set.of("eth_sendRawTransaction", "eth_sendTransaction", "eth_getTransactionCount");
+    // "limit exceeded" as returned by most public node providers
+    private static final int RATE_LIMITED = -32005;
+
+    record Endpoint(String name, Web3jService service, EndpointHealth health) implements Upstream {
+    }
+
+    private final String pool;
+    private volatile List<Endpoint> endpoints;
+    private final UpstreamRouter upstreamRouter;
+    private volatile Endpoint stickyEndpoint;
+
+    RoutingWeb3jService(String network, List<Endpoint> endpoints, UpstreamRouter upstreamRouter) {
+        this.pool = "eth-" + network;
+        this.endpoints = List.copyOf(endpoints);
+        this.upstreamRouter = upstreamRouter;
+        this.stickyEndpoint = endpoints.get(0);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        return route(STICKY_METHODS.contains(request.getMethod()), endpoint -> {
+            T response = endpoint.service().send(request, responseType);
+            checkRateLimit(endpoint, response);
+            return response;
+        });
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        return Async.run(() -> send(request, responseType));
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        boolean sticky = batchRequest.getRequests().stream().anyMatch(request -> STICKY_METHODS.contains(request.getMethod()));
+        return route(sticky, endpoint -> {
+            BatchResponse response = endpoint.service().sendBatch(batchRequest);
+            for (Response<?> item : response.getResponses()) {
+                checkRateLimit(endpoint, item);
+            }
+            return response;
+        });
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return Async.run(() -> sendBatch(batchRequest));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod, Class<T> responseType) {
+        throw new UnsupportedOperationException("Subscriptions are not supported over pooled HTTP endpoints");
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Endpoint endpoint : endpoints) {
+            endpoint.service().close();
+        }
+    }
+
+    /**
+     * Ask every endpoint for its chain ID and evict those that disagree with the majority,
+     * so a misconfigured endpoint never serves another chain's state
+     * Endpoints that do not answer are kept; a tie goes to the chain ID of the endpoint configured first
+     *
+     * @return the chain ID the remaining endpoints agree on
+     */
+    synchronized long verifyChainId() throws IOException {
+        Map<Endpoint, Long> chainIds = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            try {
+                EthChainId response = new Request<>("eth_chainId", List.<String>of(), endpoint.service(), EthChainId.class).send();
+                if (response.hasError()) {
+                    logger.warn("Endpoint {} failed to return a chain ID: {}", endpoint.name(), response.getError().getMessage());
+                } else {
+                    chainIds.put(endpoint, response.getChainId().longValue());
+                }
+            } catch (IOException | RuntimeException e) {
+                // HttpService reports HTTP error statuses as unchecked ClientConnectionException
+                logger.warn("Endpoint {} failed to return a chain ID: {}", endpoint.name(), e.getMessage());
+            }
+        }
+        if (chainIds.isEmpty()) {
+            throw new IOException("No endpoint of " + pool + " returned a chain ID");
+        }
+
+        Map<Long, Integer> votes = new LinkedHashMap<>();
+        chainIds.values().forEach(chainId -> votes.merge(chainId, 1, Integer::sum));
+        long agreed = chainIds.values().iterator().next();
+        for (Map.Entry<Long, Integer> vote : votes.entrySet()) {
+            if (vote.getValue() > votes.get(agreed)) {
+                agreed = vote.getKey();
+            }
+        }
+
+        List<Endpoint> kept = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            Long chainId = chainIds.get(endpoint);
+            if (chainId == null || chainId == agreed) {
+                kept.add(endpoint);
+            } else {
+                logger.error("Evicting endpoint {} from {}: chain ID {} differs from {}", endpoint.name(), pool, chainId, agreed);
+            }
+        }
+        if (kept.size() < endpoints.size()) {
+            endpoints = List.copyOf(kept);
+            if (!kept.contains(stickyEndpoint)) {
+                stickyEndpoint = kept.get(0);
+            }
+        }
+        return agreed;
+    }
+
+    List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    Endpoint stickyEndpoint() {
+        return stickyEndpoint;
+    }
+
+    private <T> T route(boolean sticky, RpcCall<T> call) throws IOException {
+        List<Endpoint> endpoints = this.endpoints;
+        Function<Endpoint, T> unchecked = endpoint -> {
+            try {
+                return call.send(endpoint);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            if (!sticky) {
+                return upstreamRouter.execute(pool, endpoints, true, unchecked);
+            }
+            Endpoint preferred = stickyEndpoint;
+            List<Endpoint> ordered = new ArrayList<>(endpoints.size());
+            ordered.add(preferred);
+            endpoints.stream().filter(endpoint -> endpoint != preferred).forEach(ordered::add);
+            return upstreamRouter.executeInOrder(pool, ordered, endpoint -> {
+                T result = unchecked.apply(endpoint);
+                stickyEndpoint = endpoint;
+                return result;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void checkRateLimit(Endpoint endpoint, Response<?> response) throws IOException {
+        if (response != null && response.hasError() && response.getError().getCode() == RATE_LIMITED) {
+            throw new IOException("Rate limited by " + endpoint.name() + ": " + response.getError().getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RpcCall<T> {
+        T send(Endpoint endpoint) throws IOException;
+    }
+}
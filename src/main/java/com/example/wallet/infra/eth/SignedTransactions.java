@@ -0,0 +1,57 @@
+package com.example.wallet.infra.eth;
+
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.utils.Numeric;
+
+import java.security.SignatureException;
+
+/**
+ * Reads the fields a signed transaction commits to
+ * Used instead of the optional from/to/value of transfer requests, which are unverified client input
+ */
+public final class SignedTransactions {
+
+    /**
+     * Sender, recipient and value (decimal wei) of a signed transaction; a field is null if it cannot be read,
+     * and the recipient is null for contract creations
+     */
+    public record Decoded(String from, String to, String value) {
+        static final Decoded EMPTY = new Decoded(null, null, null);
+    }
+
+    private SignedTransactions() {
+    }
+
+    /**
+     * Decode a raw signed transaction (legacy, EIP-2930 or EIP-1559)
+     *
+     * @param signedTransaction the hex encoded transaction, with or without 0x prefix
+     * @return the decoded fields, all null if the transaction cannot be decoded
+     */
+    public static Decoded decode(String signedTransaction) {
+        if (signedTransaction == null || signedTransaction.isBlank()) {
+            return Decoded.EMPTY;
+        }
+        RawTransaction transaction;
+        try {
+            transaction = TransactionDecoder.decode(Numeric.prependHexPrefix(signedTransaction.trim()));
+        } catch (RuntimeException e) {
+            return Decoded.EMPTY;
+        }
+        String from = null;
+        if (transaction instanceof SignedRawTransaction signed) {
+            try {
+                from = signed.getFrom();
+            } catch (SignatureException | RuntimeException e) {
+                // Leave the sender out rather than report one the signature does not prove
+            }
+        }
+        String to = transaction.getTo();
+        if (to != null && Numeric.cleanHexPrefix(to).isEmpty()) {
+            to = null;
+        }
+        return new Decoded(from, to, transaction.getValue() == null ? null : transaction.getValue().toString());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.domain.eth.TokenMetadata;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bounded cache of ERC-20 token metadata keyed by network and contract address
+ * Shared by the RPC and Blockscout paths; optionally persisted to disk so it survives restarts
+ */
+@Component
+public class TokenMetadataCache {
+    private static final Logger logger = LoggerFactory.getLogger(TokenMetadataCache.class);
+
+    private final Cache<String, TokenMetadata> cache;
+    private final Path persistPath;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public TokenMetadataCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        CacheProperties.TokenMetadata props = cacheProperties.getTokenMetadata();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.getMaxSize())
+                .recordStats()
+                .build();
+        String path = props.getPersistPath();
+        this.persistPath = path == null || path.isBlank() ? null : Path.of(path);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "token-metadata");
+    }
+
+    /**
+     * Get cached metadata for a token
+     *
+     * @param network the Ethereum network name
+     * @param contractAddress the token contract address
+     * @return the cached metadata, or null if not cached yet
+     */
+    public TokenMetadata get(String network, String contractAddress) {
+        return cache.getIfPresent(key(network, contractAddress));
+    }
+
+    /**
+     * Store metadata for a token
+     *
+     * @param network the Ethereum network name
+     * @param contractAddress the token contract address
+     * @param metadata the token metadata
+     */
+    public void put(String network, String contractAddress, TokenMetadata metadata) {
+        cache.put(key(network, contractAddress), metadata);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (persistPath == null || !Files.exists(persistPath)) {
+            return;
+        }
+        try {
+            Map<String, TokenMetadata> entries = objectMapper.readValue(persistPath.toFile(),
+                    new TypeReference<Map<String, TokenMetadata>>() {});
+            cache.putAll(entries);
+            logger.info("Loaded {} token metadata entries from {}", entries.size(), persistPath);
+        } catch (IOException e) {
+            logger.warn("Failed to load token metadata cache from {}: {}", persistPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void save() {
+        if (persistPath == null) {
+            return;
+        }
+        try {
+            Path parent = persistPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write to a temp file first so a crash never leaves a truncated cache behind
+            Path tmp = persistPath.resolveSibling(persistPath.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), new HashMap<>(cache.asMap()));
+            Files.move(tmp, persistPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Saved {} token metadata entries to {}", cache.estimatedSize(), persistPath);
+        } catch (IOException e) {
+            logger.warn("Failed to save token metadata cache to {}: {}", persistPath, e.getMessage());
+        }
+    }
+
+    private static String key(String network, String contractAddress) {
+        return network + ":" + contractAddress.toLowerCase(Locale.ROOT);
+    }
+}
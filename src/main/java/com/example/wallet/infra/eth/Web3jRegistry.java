@@ -0,0 +1,183 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.config.IAppProperties;
+import com.example.wallet.config.Web3jProperties;
+import com.example.wallet.infra.upstream.UpstreamMetrics;
+import com.example.wallet.infra.upstream.UpstreamRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.methods.response.EthChainId;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds one long-lived Web3j client per configured Ethereum network
+ * Each client owns a tuned OkHttp connection pool so RPC calls reuse connections
+ * instead of building a new HTTP stack per request. A network configured with several
+ * comma-separated RPC URLs gets a client that routes calls across them; their chain IDs can be verified
+ * so that an endpoint of another chain is evicted from the pool
+ */
+@Component
+public class Web3jRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(Web3jRegistry.class);
+
+    private final IAppProperties appProperties;
+    private final Web3jProperties web3jProperties;
+    private final MeterRegistry meterRegistry;
+    private final UpstreamRouter upstreamRouter;
+    private final UpstreamMetrics upstreamMetrics;
+    private final Map<String, PooledClient> clients = new ConcurrentHashMap<>();
+
+    public Web3jRegistry(IAppProperties appProperties, Web3jProperties web3jProperties, MeterRegistry meterRegistry,
+                         UpstreamRouter upstreamRouter, UpstreamMetrics upstreamMetrics) {
+        this.appProperties = appProperties;
+        this.web3jProperties = web3jProperties;
+        this.meterRegistry = meterRegistry;
+        this.upstreamRouter = upstreamRouter;
+        this.upstreamMetrics = upstreamMetrics;
+    }
+
+    /**
+     * Get the shared Web3j client for a network, creating it on first use
+     *
+     * @param network the Ethereum network name (e.g., "mainnet", "sepolia")
+     * @return the pooled Web3j client
+     */
+    public Web3j get(String network) {
+        return clients.computeIfAbsent(network, this::create).web3j();
+    }
+
+    /**
+     * Ask every RPC endpoint of a network for its chain ID, which also opens a connection to each,
+     * and evict endpoints that report a different chain than the rest of the network's pool
+     *
+     * @param network the Ethereum network name
+     * @return the chain ID of the network
+     * @throws IOException if no endpoint returns a chain ID
+     */
+    public long verifyChainId(String network) throws IOException {
+        PooledClient client = clients.computeIfAbsent(network, this::create);
+        if (client.routing() != null) {
+            return client.routing().verifyChainId();
+        }
+        EthChainId response = client.web3j().ethChainId().send();
+        if (response.hasError()) {
+            throw new IOException("Error fetching chain ID: " + response.getError().getMessage());
+        }
+        return response.getChainId().longValue();
+    }
+
+    /**
+     * Split a configured ETH RPC value into its endpoint URLs
+     *
+     * @param rpcUrl one URL or several comma-separated ones, may be null
+     * @return the endpoint URLs in configured order
+     */
+    public static List<String> rpcUrls(String rpcUrl) {
+        return rpcUrl == null ? List.of()
+                : Arrays.stream(rpcUrl.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+    }
+
+    private PooledClient create(String network) {
+        List<String> rpcUrls = rpcUrls(appProperties.getRpc().getEth().get(network));
+        if (rpcUrls.isEmpty()) {
+            throw new IllegalArgumentException("Unsupported ETH network: " + network);
+        }
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(web3jProperties.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(web3jProperties.getMaxRequestsPerHost());
+
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(
+                        web3jProperties.getMaxIdleConnections(),
+                        web3jProperties.getKeepAliveSeconds(),
+                        TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(web3jProperties.getConnectTimeoutMs(), TimeUnit.MILLISECONDS)
+                .readTimeout(web3jProperties.getReadTimeoutMs(), TimeUnit.MILLISECONDS)
+                .writeTimeout(web3jProperties.getWriteTimeoutMs(), TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+
+        registerMetrics(network, httpClient);
+        logger.info("Created pooled Web3j client for network {} with {} endpoint(s)", network, rpcUrls.size());
+        Web3jService service = service(network, rpcUrls, httpClient);
+        return new PooledClient(httpClient, Web3j.build(service),
+                service instanceof RoutingWeb3jService routing ? routing : null);
+    }
+
+    private Web3jService service(String network, List<String> rpcUrls, OkHttpClient httpClient) {
+        if (rpcUrls.size() == 1) {
+            return metered(network, rpcUrls.get(0), httpClient);
+        }
+        // All endpoints share the network's connection pool and dispatcher limits
+        List<RoutingWeb3jService.Endpoint> endpoints = new ArrayList<>();
+        for (String url : rpcUrls) {
+            endpoints.add(new RoutingWeb3jService.Endpoint(network + "/" + URI.create(url).getHost(),
+                    metered(network, url, httpClient), upstreamRouter.newHealth()));
+        }
+        return new RoutingWeb3jService(network, endpoints, upstreamRouter);
+    }
+
+    private Web3jService metered(String network, String url, OkHttpClient httpClient) {
+        return new MeteredWeb3jService(network, upstreamMetrics.host(url), new HttpService(url, httpClient), upstreamMetrics);
+    }
+
+    private void registerMetrics(String network, OkHttpClient httpClient) {
+        ConnectionPool pool = httpClient.connectionPool();
+        Dispatcher dispatcher = httpClient.dispatcher();
+        Gauge.builder("wallet.web3j.pool.connections", pool, ConnectionPool::connectionCount)
+                .description("Open connections in the Web3j connection pool")
+                .tag("network", network)
+                .register(meterRegistry);
+        Gauge.builder("wallet.web3j.pool.idle", pool, ConnectionPool::idleConnectionCount)
+                .description("Idle connections in the Web3j connection pool")
+                .tag("network", network)
+                .register(meterRegistry);
+        Gauge.builder("wallet.web3j.calls.running", dispatcher, Dispatcher::runningCallsCount)
+                .description("RPC calls currently in flight")
+                .tag("network", network)
+                .register(meterRegistry);
+        Gauge.builder("wallet.web3j.calls.queued", dispatcher, Dispatcher::queuedCallsCount)
+                .description("Async RPC calls waiting for a free slot")
+                .tag("network", network)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Shut down every client and release pooled connections and threads
+     */
+    @PreDestroy
+    public void close() {
+        clients.forEach((network, client) -> {
+            try {
+                client.web3j().shutdown();
+            } catch (Exception e) {
+                logger.warn("Failed to shut down Web3j client for network {}: {}", network, e.getMessage());
+            }
+            client.httpClient().dispatcher().executorService().shutdown();
+            client.httpClient().connectionPool().evictAll();
+        });
+        clients.clear();
+    }
+
+    private record PooledClient(OkHttpClient httpClient, Web3j web3j, RoutingWeb3jService routing) {}
+}
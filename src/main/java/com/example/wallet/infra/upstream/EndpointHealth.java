@@ -0,0 +1,126 @@
+package com.example.wallet.infra.upstream;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and failure tracking for one upstream endpoint, with a simple circuit breaker
+ * After failureThreshold consecutive failures the circuit opens for openDuration; then a single
+ * probe request is let through, and its outcome closes or re-opens the circuit
+ */
+public final class EndpointHealth {
+    private static final int WINDOW = 128;
+    private static final int MIN_SAMPLES = 20;
+    private static final double ALPHA = 0.2;
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final long[] samples = new long[WINDOW];
+    private int sampleCount;
+    private int sampleIndex;
+    private double ewmaNanos = -1;
+    private double errorRate;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean probing;
+    private long p95Nanos = -1;
+    // Set when samples changed since p95Nanos was last computed
+    private boolean p95Stale;
+
+    public EndpointHealth(int failureThreshold, long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+    }
+
+    /**
+     * Ask to send a request to this endpoint
+     *
+     * @return false while the circuit is open, or half-open with a probe already in flight
+     */
+    public synchronized boolean tryAcquire() {
+        if (openUntil == 0) {
+            return true;
+        }
+        if (System.nanoTime() - openUntil < 0 || probing) {
+            return false;
+        }
+        probing = true;
+        return true;
+    }
+
+    /**
+     * Hand back a permit from tryAcquire for a request that was never sent, without recording an outcome
+     */
+    public synchronized void release() {
+        probing = false;
+    }
+
+    public synchronized void recordSuccess(long elapsedNanos) {
+        recordLatency(elapsedNanos);
+        errorRate = (1 - ALPHA) * errorRate;
+        consecutiveFailures = 0;
+        openUntil = 0;
+        probing = false;
+    }
+
+    public synchronized void recordFailure(long elapsedNanos) {
+        recordLatency(elapsedNanos);
+        errorRate = (1 - ALPHA) * errorRate + ALPHA;
+        consecutiveFailures++;
+        if (probing || consecutiveFailures >= failureThreshold) {
+            // Never leave openUntil at 0, which means closed
+            openUntil = (System.nanoTime() + openDurationNanos) | 1;
+            probing = false;
+        }
+    }
+
+    public synchronized State state() {
+        if (openUntil == 0) {
+            return State.CLOSED;
+        }
+        return System.nanoTime() - openUntil < 0 ? State.OPEN : State.HALF_OPEN;
+    }
+
+    /**
+     * Routing score, lower is better: smoothed latency inflated by the recent error rate
+     * Endpoints without samples score 0 so they get tried
+     */
+    public synchronized double score() {
+        return ewmaNanos < 0 ? 0 : ewmaNanos * (1 + 4 * errorRate);
+    }
+
+    /**
+     * @return smoothed latency in nanoseconds, or -1 before the first request
+     */
+    public synchronized double ewmaNanos() {
+        return ewmaNanos;
+    }
+
+    /**
+     * @return the 95th percentile of recent latencies in nanoseconds, or -1 until enough samples are in
+     */
+    public synchronized long p95Nanos() {
+        // Sorted on read rather than per request, since only hedged calls ask for it
+        if (p95Stale) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            p95Nanos = sorted[(int) Math.ceil(sampleCount * 0.95) - 1];
+            p95Stale = false;
+        }
+        return p95Nanos;
+    }
+
+    public synchronized double errorRate() {
+        return errorRate;
+    }
+
+    private void recordLatency(long elapsedNanos) {
+        ewmaNanos = ewmaNanos < 0 ? elapsedNanos : (1 - ALPHA) * ewmaNanos + ALPHA * elapsedNanos;
+        samples[sampleIndex] = elapsedNanos;
+        sampleIndex = (sampleIndex + 1) % WINDOW;
+        sampleCount = Math.min(sampleCount + 1, WINDOW);
+        p95Stale = sampleCount >= MIN_SAMPLES;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.wallet.infra.upstream;
+
+/**
+ * An upstream endpoint that can be routed to by {@link UpstreamRouter}
+ */
+public interface Upstream {
+
+    /**
+     * @return a stable name for logs and metrics
+     */
+    String name();
+
+    /**
+     * @return the health tracker of this endpoint
+     */
+    EndpointHealth health();
+}
@@ -0,0 +1,114 @@
+package com.example.wallet.infra.upstream;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers for every call made to an upstream provider
+ * Calls are tagged by chain, network, provider host, operation (JSON-RPC method or templated REST path)
+ * and outcome, and publish a percentile histogram so tail latency can be broken down per upstream
+ */
+@Component
+public class UpstreamMetrics {
+    public static final String SUCCESS = "success";
+    // 4xx other than 429: the request was rejected, the upstream itself is fine
+    public static final String CLIENT_ERROR = "client_error";
+    // JSON-RPC error object in an otherwise successful HTTP response
+    public static final String RPC_ERROR = "rpc_error";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<CallKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<BatchKey, DistributionSummary> batchSizes = new ConcurrentHashMap<>();
+    private final Map<String, String> hosts = new ConcurrentHashMap<>();
+
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time a call, classifying a thrown exception as client_error or error
+     *
+     * @param chain eth or btc
+     * @param network the network name
+     * @param provider the provider host, see {@link #host(String)}
+     * @param operation the RPC method or templated REST path, never a raw URL
+     * @param call the call to time
+     * @return the call's result
+     */
+    public <T> T record(String chain, String network, String provider, String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            T result = call.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            if (UpstreamRouter.isClientError(e)) {
+                outcome = CLIENT_ERROR;
+            }
+            throw e;
+        } finally {
+            record(chain, network, provider, operation, outcome, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record a call timed by the caller
+     */
+    public void record(String chain, String network, String provider, String operation, String outcome, long nanos) {
+        timers.computeIfAbsent(new CallKey(chain, network, provider, operation, outcome), key -> Timer.builder("wallet.upstream.requests")
+                .description("Calls to upstream providers")
+                .tag("chain", key.chain())
+                .tag("network", key.network())
+                .tag("provider", key.provider())
+                .tag("operation", key.operation())
+                .tag("outcome", key.outcome())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the number of requests sent in one JSON-RPC batch
+     */
+    public void recordBatchSize(String chain, String network, String provider, int size) {
+        batchSizes.computeIfAbsent(new BatchKey(chain, network, provider), key -> DistributionSummary.builder("wallet.upstream.batch.size")
+                .description("Requests per JSON-RPC batch sent upstream")
+                .baseUnit("requests")
+                .tag("chain", key.chain())
+                .tag("network", key.network())
+                .tag("provider", key.provider())
+                .register(meterRegistry))
+                .record(size);
+    }
+
+    /**
+     * The host of a provider base URL, used as the provider tag
+     */
+    public String host(String url) {
+        return hosts.computeIfAbsent(url, key -> {
+            try {
+                String host = URI.create(key.trim()).getHost();
+                return host == null ? "unknown" : host;
+            } catch (IllegalArgumentException e) {
+                return "unknown";
+            }
+        });
+    }
+
+    private record CallKey(String chain, String network, String provider, String operation, String outcome) {}
+
+    private record BatchKey(String chain, String network, String provider) {}
+}
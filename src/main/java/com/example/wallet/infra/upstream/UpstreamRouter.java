@@ -0,0 +1,214 @@
+package com.example.wallet.infra.upstream;
+
+import com.example.wallet.config.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Routes a call across a pool of equivalent upstreams
+ * Healthy endpoints are tried in order of latency score, failing over to the next one on error and
+ * skipping endpoints with an open circuit. With hedging enabled a second endpoint is queried when the
+ * first has not answered within its recent p95 latency, and whichever succeeds first wins
+ */
+@Component
+public class UpstreamRouter {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRouter.class);
+
+    private final UpstreamProperties properties;
+    private final MeterRegistry meterRegistry;
+    // Hedged calls are often issued from upstreamExecutor tasks (bulk fan-out); running them on the same
+    // fixed pool could starve it, so they get their own virtual threads
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public UpstreamRouter(UpstreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Create a health tracker configured from app.upstream
+     */
+    public EndpointHealth newHealth() {
+        return new EndpointHealth(properties.getFailureThreshold(), properties.getOpenDurationMs());
+    }
+
+    /**
+     * Run a call against the best available upstream, failing over on errors
+     *
+     * @param pool the pool name, used in errors and metrics
+     * @param candidates the upstreams able to serve the call
+     * @param hedge whether the call is safe to send to two upstreams at once
+     * @param call the call to run against one upstream
+     * @return the first successful result
+     */
+    public <E extends Upstream, T> T execute(String pool, List<E> candidates, boolean hedge, Function<E, T> call) {
+        // Snapshot scores first, they keep moving while other requests complete
+        Map<E, Double> scores = new IdentityHashMap<>();
+        candidates.forEach(upstream -> scores.put(upstream, upstream.health().score()));
+        List<E> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparingDouble(scores::get));
+        if (hedge && properties.isHedgeEnabled() && ordered.size() > 1) {
+            return hedged(pool, ordered, call);
+        }
+        return executeInOrder(pool, ordered, call);
+    }
+
+    /**
+     * Run a call against upstreams in the given order, failing over on errors but never hedging
+     * Used where the caller must prefer a particular upstream, e.g. to keep writes sticky
+     *
+     * @param pool the pool name, used in errors and metrics
+     * @param ordered the upstreams in order of preference
+     * @param call the call to run against one upstream
+     * @return the first successful result
+     */
+    public <E extends Upstream, T> T executeInOrder(String pool, List<E> ordered, Function<E, T> call) {
+        RuntimeException failure = null;
+        boolean attempted = false;
+        for (E upstream : ordered) {
+            if (!upstream.health().tryAcquire()) {
+                continue;
+            }
+            if (attempted) {
+                counter("wallet.upstream.failover", pool).increment();
+            }
+            attempted = true;
+            try {
+                return timed(upstream, call);
+            } catch (RuntimeException e) {
+                if (isClientError(e)) {
+                    throw e;
+                }
+                logger.warn("Upstream {} failed: {}", upstream.name(), e.getMessage());
+                failure = e;
+            }
+        }
+        throw failure != null ? failure : new IllegalStateException("No healthy upstream for " + pool);
+    }
+
+    private <E extends Upstream, T> T hedged(String pool, List<E> ordered, Function<E, T> call) {
+        CompletionService<T> completion = new ExecutorCompletionService<>(hedgeExecutor);
+        Iterator<E> remaining = ordered.iterator();
+        E primary = submitNext(remaining, completion, call);
+        if (primary == null) {
+            throw new IllegalStateException("No healthy upstream for " + pool);
+        }
+        int inFlight = 1;
+        RuntimeException failure = null;
+        // A losing request is never cancelled: interrupting it would count against its endpoint's health
+        // and could strand a half-open probe. It finishes in the background, records its real outcome,
+        // and its connection goes back to the pool
+        try {
+            Future<T> done = completion.poll(hedgeDelayNanos(primary), TimeUnit.NANOSECONDS);
+            if (done == null && submitNext(remaining, completion, call) != null) {
+                counter("wallet.upstream.hedged", pool).increment();
+                inFlight++;
+            }
+            while (true) {
+                if (done == null) {
+                    done = completion.take();
+                }
+                inFlight--;
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    RuntimeException cause = e.getCause() instanceof RuntimeException runtime
+                            ? runtime : new RuntimeException(e.getCause());
+                    if (isClientError(cause)) {
+                        throw cause;
+                    }
+                    logger.warn("Upstream call in pool {} failed: {}", pool, cause.getMessage());
+                    failure = cause;
+                }
+                if (submitNext(remaining, completion, call) != null) {
+                    counter("wallet.upstream.failover", pool).increment();
+                    inFlight++;
+                } else if (inFlight == 0) {
+                    throw failure;
+                }
+                done = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for upstream in pool " + pool, e);
+        }
+    }
+
+    private <E extends Upstream, T> E submitNext(Iterator<E> remaining, CompletionService<T> completion,
+                                                 Function<E, T> call) {
+        while (remaining.hasNext()) {
+            E upstream = remaining.next();
+            if (upstream.health().tryAcquire()) {
+                try {
+                    completion.submit(() -> timed(upstream, call));
+                } catch (RejectedExecutionException e) {
+                    // Never sent, so it says nothing about the endpoint; just hand back a probe permit
+                    upstream.health().release();
+                    throw e;
+                }
+                return upstream;
+            }
+        }
+        return null;
+    }
+
+    private long hedgeDelayNanos(Upstream upstream) {
+        long p95 = upstream.health().p95Nanos();
+        long delay = p95 < 0 ? TimeUnit.MILLISECONDS.toNanos(properties.getHedgeDefaultDelayMs()) : p95;
+        return Math.max(delay, TimeUnit.MILLISECONDS.toNanos(properties.getHedgeMinDelayMs()));
+    }
+
+    private <E extends Upstream, T> T timed(E upstream, Function<E, T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.apply(upstream);
+            upstream.health().recordSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            // A rejected request says nothing about the endpoint's health
+            if (isClientError(e)) {
+                upstream.health().recordSuccess(System.nanoTime() - start);
+            } else {
+                upstream.health().recordFailure(System.nanoTime() - start);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A 4xx other than 429 means the request itself is bad, so trying another upstream will not help
+     */
+    static boolean isClientError(RuntimeException e) {
+        return e instanceof HttpClientErrorException clientError && clientError.getStatusCode().value() != 429;
+    }
+
+    private Counter counter(String name, String pool) {
+        return meterRegistry.counter(name, "pool", pool);
+    }
+
+    @PreDestroy
+    public void close() {
+        hedgeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of address balances that collapses polling to one upstream call per address
+ * ETH entries are keyed by the current head block, so a new block invalidates them;
+ * BTC entries expire after a fixed TTL
+ */
+@Component
+public class BalanceCache {
+    private final ChainHeadTracker chainHeadTracker;
+    private final Cache<String, String> ethBalances;
+    private final Cache<String, String> btcBalances;
+
+    public BalanceCache(ChainHeadTracker chainHeadTracker, CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.chainHeadTracker = chainHeadTracker;
+        CacheProperties.Balance props = cacheProperties.getBalance();
+        this.ethBalances = Caffeine.newBuilder()
+                .maximumSize(props.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(props.getEthMaxAgeSeconds()))
+                .recordStats()
+                .build();
+        this.btcBalances = Caffeine.newBuilder()
+                .maximumSize(props.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(props.getBtcTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ethBalances, "balance-eth");
+        CaffeineCacheMetrics.monitor(meterRegistry, btcBalances, "balance-btc");
+    }
+
+    /**
+     * Get an ETH balance valid for the current head block, loading it on a miss
+     * Falls through to the loader uncached while the head of the network is unknown
+     *
+     * @param network the Ethereum network name
+     * @param address the wallet address
+     * @param loader fetches the balance from upstream
+     * @return the balance in wei
+     */
+    public String eth(String network, String address, Supplier<String> loader) {
+        long head = chainHeadTracker.head(network);
+        if (head < 0) {
+            return loader.get();
+        }
+        return getOrLoad(ethBalances, network + ":" + head + ":" + address.toLowerCase(Locale.ROOT), loader);
+    }
+
+    /**
+     * Get a BTC balance, loading it on a miss or once the TTL has passed
+     *
+     * @param network the Bitcoin network name
+     * @param address the wallet address
+     * @param loader fetches the balance from upstream
+     * @return the balance in satoshis
+     */
+    public String btc(String network, String address, Supplier<String> loader) {
+        return getOrLoad(btcBalances, network + ":" + address, loader);
+    }
+
+    /**
+     * Load outside the cache rather than through Cache.get(key, loader), which would hold a map lock
+     * for the whole upstream call and block other keys (and pin virtual-thread carriers) meanwhile
+     */
+    private static String getOrLoad(Cache<String, String> cache, String key, Supplier<String> loader) {
+        String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        String value = loader.get();
+        if (value != null) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+}
@@ -1,26 +1,52 @@
 package com.example.wallet.service;
 
+import com.example.wallet.config.BulkProperties;
 import com.example.wallet.config.IAppProperties;
+import com.example.wallet.domain.AddressBalance;
 import com.example.wallet.domain.BalanceResponse;
+import com.example.wallet.domain.eth.PortfolioResponse;
 import com.example.wallet.infra.eth.IEthClient;
+import com.example.wallet.infra.eth.Web3jRegistry;
 import com.example.wallet.infra.btc.IBtcClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 @Service
 public class BalanceService {
 
     private final IEthClient ethClient;
     private final IBtcClient btcClient;
     private final IAppProperties props;
+    private final BulkProperties bulkProperties;
+    private final ExecutorService upstreamExecutor;
+    private final BalanceCache balanceCache;
+    private final SingleFlight singleFlight;
 
-    public BalanceService(IEthClient ethClient, IBtcClient btcClient, IAppProperties props) {
+    public BalanceService(IEthClient ethClient, IBtcClient btcClient, IAppProperties props,
+                          BulkProperties bulkProperties, @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor,
+                          BalanceCache balanceCache, SingleFlight singleFlight) {
         this.ethClient = ethClient;
         this.btcClient = btcClient;
         this.props = props;
+        this.bulkProperties = bulkProperties;
+        this.upstreamExecutor = upstreamExecutor;
+        this.balanceCache = balanceCache;
+        this.singleFlight = singleFlight;
     }
 
     public BalanceResponse ethBalance(String network, String address) {
-        String wei = ethClient.getBalance(network, address);
+        String wei = balanceCache.eth(network, address, () -> singleFlight.execute("eth-balance",
+                network + ":" + address.toLowerCase(Locale.ROOT), () -> ethClient.getBalance(network, address)));
         return new BalanceResponse("ETH", network, address, wei);
     }
 
@@ -32,16 +58,77 @@ public class BalanceService {
      * @return Balance response with Bitcoin amount in satoshis
      */
     public BalanceResponse btcBalance(String network, String address) {
-        String sats = btcClient.getBalance(network, address);
+        String sats = balanceCache.btc(network, address, () -> singleFlight.execute("btc-balance",
+                network + ":" + address, () -> btcClient.getBalance(network, address)));
         return new BalanceResponse("BTC", network, address, sats);
     }
 
-    public String effectiveEthRpc(String network) {
-        String url = props.getRpc().getEth().get(network);
-        if (url == null) {
+    /**
+     * Get ETH balances for many addresses
+     * Addresses are split into JSON-RPC batches of eth_getBalance, and results are emitted
+     * in request order as soon as each batch completes
+     *
+     * @param network Ethereum network
+     * @param addresses addresses to query
+     * @param sink receives one result per address, in request order
+     */
+    public void ethBalances(String network, List<String> addresses, Consumer<AddressBalance> sink) {
+        int batchSize = Math.max(1, bulkProperties.getEthBatchSize());
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < addresses.size(); i += batchSize) {
+            batches.add(addresses.subList(i, Math.min(i + batchSize, addresses.size())));
+        }
+        emitInOrder(batches, bulkProperties.getEthConcurrency(), batch -> {
+            try {
+                return ethClient.getBalances(network, batch);
+            } catch (RuntimeException e) {
+                return batch.stream().map(address -> AddressBalance.failed(address, e.getMessage())).toList();
+            }
+        }, results -> results.forEach(sink));
+    }
+
+    /**
+     * Get Bitcoin balances for many addresses
+     * Lookups fan out over the upstream executor with bounded concurrency, and results are
+     * emitted in request order
+     *
+     * @param network Bitcoin network
+     * @param addresses addresses to query
+     * @param sink receives one result per address, in request order
+     */
+    public void btcBalances(String network, List<String> addresses, Consumer<AddressBalance> sink) {
+        emitInOrder(addresses, bulkProperties.getBtcConcurrency(), address -> {
+            try {
+                return AddressBalance.of(address, btcClient.getBalance(network, address));
+            } catch (RuntimeException e) {
+                return AddressBalance.failed(address, e.getMessage());
+            }
+        }, sink);
+    }
+
+    /**
+     * Run tasks with at most {@code concurrency} in flight and hand results to the sink in input order
+     */
+    private <T, R> void emitInOrder(List<T> inputs, int concurrency, Function<T, R> task, Consumer<R> sink) {
+        int window = Math.max(1, concurrency);
+        Deque<CompletableFuture<R>> inFlight = new ArrayDeque<>(window);
+        for (T input : inputs) {
+            if (inFlight.size() >= window) {
+                sink.accept(inFlight.removeFirst().join());
+            }
+            inFlight.addLast(CompletableFuture.supplyAsync(() -> task.apply(input), upstreamExecutor));
+        }
+        while (!inFlight.isEmpty()) {
+            sink.accept(inFlight.removeFirst().join());
+        }
+    }
+
+    public List<String> effectiveEthRpc(String network) {
+        List<String> urls = Web3jRegistry.rpcUrls(props.getRpc().getEth().get(network));
+        if (urls.isEmpty()) {
             throw new IllegalArgumentException("Unsupported ETH network: " + network);
         }
-        return url;
+        return urls;
     }
 
     public Object effectiveBtcRpc() {
@@ -59,4 +146,16 @@ public class BalanceService {
     public com.example.wallet.domain.eth.TokenBalanceResponse getTokenBalance(String network, String tokenAddress, String walletAddress) {
         return ethClient.getTokenBalance(network, tokenAddress, walletAddress);
     }
+    
+    /**
+     * Get the ETH balance and a set of ERC-20 token balances for a wallet in one RPC request
+     *
+     * @param network the Ethereum network
+     * @param walletAddress the wallet address
+     * @param tokenAddresses the token contract addresses
+     * @return the portfolio with token balances in request order
+     */
+    public PortfolioResponse getPortfolio(String network, String walletAddress, List<String> tokenAddresses) {
+        return ethClient.getPortfolio(network, walletAddress, tokenAddresses);
+    }
 }
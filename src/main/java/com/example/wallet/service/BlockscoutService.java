@@ -7,6 +7,9 @@ import com.example.wallet.domain.eth.TokenTransferListResponse;
 import com.example.wallet.infra.eth.IBlockscoutProvider;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
+import java.util.Locale;
+
 @Service
 public class BlockscoutService {
     /**
@@ -16,7 +19,8 @@ public class BlockscoutService {
      * @param type Token type(s) to filter by (e.g. "ERC-20,ERC-721,ERC-1155")
      */
     public BlockscoutTokenListResponse getTokens(String network, String tokenSymbol, String type) {
-        return blockscoutProvider.getTokens(network, tokenSymbol, type);
+        return singleFlight.execute("blockscout-tokens", network + ":" + tokenSymbol + ":" + type,
+                () -> blockscoutProvider.getTokens(network, tokenSymbol, type));
     }
     
     /**
@@ -26,26 +30,39 @@ public class BlockscoutService {
      * @return Token details
      */
     public BlockscoutTokenInfo getTokenByAddress(String network, String tokenAddress) {
-        return blockscoutProvider.getTokenByAddress(network, tokenAddress);
+        return singleFlight.execute("blockscout-token", network + ":" + tokenAddress.toLowerCase(Locale.ROOT),
+                () -> blockscoutProvider.getTokenByAddress(network, tokenAddress));
     }
     private final IBlockscoutProvider blockscoutProvider;
+    private final SingleFlight singleFlight;
 
-    public BlockscoutService(IBlockscoutProvider blockscoutProvider) {
+    public BlockscoutService(IBlockscoutProvider blockscoutProvider, SingleFlight singleFlight) {
         this.blockscoutProvider = blockscoutProvider;
+        this.singleFlight = singleFlight;
     }
 
     /**
      * Get transactions for an address in raw JSON format
      */
     public String getTransactions(String network, String address, String filter) {
-        return blockscoutProvider.getTransactions(network, address, filter);
+        return singleFlight.execute("blockscout-transactions-raw", network + ":" + address.toLowerCase(Locale.ROOT) + ":" + filter,
+                () -> blockscoutProvider.getTransactions(network, address, filter));
+    }
+    
+    /**
+     * Stream transactions for an address in raw JSON format straight to the given output
+     * Not coalesced, since each caller needs its own copy of the stream
+     */
+    public void streamTransactions(String network, String address, String filter, OutputStream out) {
+        blockscoutProvider.streamTransactions(network, address, filter, out);
     }
     
     /**
      * Get transactions for an address as a parsed object
      */
     public BlockscoutTransactionResponse getTransactionsAsObject(String network, String address, String filter) {
-        return blockscoutProvider.getTransactionsAsObject(network, address, filter);
+        return singleFlight.execute("blockscout-transactions", network + ":" + address.toLowerCase(Locale.ROOT) + ":" + filter,
+                () -> blockscoutProvider.getTransactionsAsObject(network, address, filter));
     }
     
     /**
@@ -57,6 +74,8 @@ public class BlockscoutService {
      * @return List of token transfers
      */
     public TokenTransferListResponse getTokenTransfers(String network, String address, String tokenAddress, String type) {
-        return blockscoutProvider.getTokenTransfers(network, address, tokenAddress, type);
+        return singleFlight.execute("blockscout-token-transfers",
+                network + ":" + address.toLowerCase(Locale.ROOT) + ":" + tokenAddress + ":" + type,
+                () -> blockscoutProvider.getTokenTransfers(network, address, tokenAddress, type));
     }
 }
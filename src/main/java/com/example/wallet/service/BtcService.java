@@ -2,31 +2,23 @@ package com.example.wallet.service;
 
 import com.example.wallet.config.IAppProperties;
 import com.example.wallet.domain.btc.BitcoinAddressInfo;
+import com.example.wallet.domain.btc.Utxo;
 import com.example.wallet.infra.btc.IBtcClient;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.math.BigInteger;
+import java.util.List;
 
 @Service
 public class BtcService {
     
-    private static final Logger logger = LoggerFactory.getLogger(BtcService.class);
     private final IAppProperties appProperties;
     private final IBtcClient btcClient;
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final UtxoSetCache utxoSetCache;
 
-    public BtcService(IAppProperties appProperties, IBtcClient btcClient) {
+    public BtcService(IAppProperties appProperties, IBtcClient btcClient, UtxoSetCache utxoSetCache) {
         this.appProperties = appProperties;
         this.btcClient = btcClient;
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+        this.utxoSetCache = utxoSetCache;
     }
     
     /**
@@ -37,73 +29,7 @@ public class BtcService {
      * @return Address details including balance, transactions count, etc.
      */
     public BitcoinAddressInfo getAddressInfo(String network, String address) {
-        try {
-            String apiUrl = getApiEndpoint(network, "default");
-            
-            if (network.equals("testnet") || network.contains("esplora")) {
-                // Blockstream and Mempool.space Esplora API format
-                String endpoint = String.format("%s/address/%s", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                
-                // Parse stats
-                JsonNode chainStats = responseJson.get("chain_stats");
-                BigInteger funded = new BigInteger(chainStats.get("funded_txo_sum").asText());
-                BigInteger spent = new BigInteger(chainStats.get("spent_txo_sum").asText());
-                BigInteger balance = funded.subtract(spent);
-                int txCount = chainStats.get("tx_count").asInt();
-                
-                return new BitcoinAddressInfo(
-                    address,
-                    network,
-                    balance.toString(),
-                    txCount,
-                    chainStats.get("funded_txo_count").asInt() - chainStats.get("spent_txo_count").asInt(),
-                    funded.toString(),
-                    spent.toString()
-                );
-            } else if (network.contains("blockcypher")) {
-                // BlockCypher API format
-                String endpoint = String.format("%s/addrs/%s", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                
-                return new BitcoinAddressInfo(
-                    address,
-                    network,
-                    responseJson.get("final_balance").asText(),
-                    responseJson.get("n_tx").asInt(),
-                    responseJson.get("unconfirmed_n_tx").asInt(),
-                    responseJson.get("total_received").asText(),
-                    responseJson.get("total_sent").asText()
-                );
-            } else {
-                // Default Blockstream API format (mainnet or any other)
-                String endpoint = String.format("%s/address/%s", apiUrl, address);
-                ResponseEntity<String> response = restTemplate.getForEntity(endpoint, String.class);
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                
-                // Parse stats
-                JsonNode chainStats = responseJson.get("chain_stats");
-                BigInteger funded = new BigInteger(chainStats.get("funded_txo_sum").asText());
-                BigInteger spent = new BigInteger(chainStats.get("spent_txo_sum").asText());
-                BigInteger balance = funded.subtract(spent);
-                int txCount = chainStats.get("tx_count").asInt();
-                
-                return new BitcoinAddressInfo(
-                    address,
-                    network,
-                    balance.toString(),
-                    txCount,
-                    chainStats.get("funded_txo_count").asInt() - chainStats.get("spent_txo_count").asInt(),
-                    funded.toString(),
-                    spent.toString()
-                );
-            }
-        } catch (Exception e) {
-            logger.error("Failed to fetch BTC address info for {}: {}", address, e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch BTC address info: " + e.getMessage(), e);
-        }
+        return btcClient.getAddressInfo(network, address);
     }
     
     /**
@@ -111,10 +37,10 @@ public class BtcService {
      *
      * @param network Bitcoin network (mainnet, testnet)
      * @param address Bitcoin address to query
-     * @return List of UTXOs as a JSON string
+     * @return Unspent outputs, served from the incrementally refreshed UTXO set cache
      */
-    public String getUtxos(String network, String address) {
-        return btcClient.getUtxos(network, address);
+    public List<Utxo> getUtxos(String network, String address) {
+        return utxoSetCache.get(network, address);
     }
     
     /**
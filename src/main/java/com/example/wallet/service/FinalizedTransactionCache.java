@@ -0,0 +1,145 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.domain.eth.TransactionStatusResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Bounded cache of finalized transaction statuses
+ * Once a transaction is buried deep enough its receipt, logs and gas fields never change, so lookups
+ * can skip the node entirely; entries evicted for size can spill to a memory-mapped file
+ */
+@Component
+public class FinalizedTransactionCache {
+    private static final Logger logger = LoggerFactory.getLogger(FinalizedTransactionCache.class);
+
+    private final Cache<String, TransactionStatusResponse> cache;
+    private final int finalityDepth;
+    private final MappedSpillStore spillStore;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile boolean spillFullLogged;
+
+    public FinalizedTransactionCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        CacheProperties.FinalizedTransactions props = cacheProperties.getFinalizedTransactions();
+        this.finalityDepth = props.getFinalityDepth();
+        this.spillStore = openSpillStore(props);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.getMaxSize())
+                // Spill on the evicting thread so an evicted entry is readable again right away
+                .executor(Runnable::run)
+                .removalListener((String key, TransactionStatusResponse status, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && status != null) {
+                        spill(key, status);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "finalized-tx");
+        if (spillStore != null) {
+            Gauge.builder("wallet.cache.finalized-tx.spilled", spillStore, MappedSpillStore::size)
+                    .description("Finalized transactions held in the memory-mapped spill store")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Get a finalized transaction status
+     *
+     * @param network the Ethereum network name
+     * @param txHash the transaction hash
+     * @return the cached status, or null if the transaction is not known to be finalized
+     */
+    public TransactionStatusResponse get(String network, String txHash) {
+        String key = key(network, txHash);
+        TransactionStatusResponse status = cache.getIfPresent(key);
+        if (status != null || spillStore == null) {
+            return status;
+        }
+        byte[] spilled = spillStore.get(key);
+        if (spilled == null) {
+            return null;
+        }
+        try {
+            status = objectMapper.readValue(spilled, TransactionStatusResponse.class);
+            cache.put(key, status);
+            return status;
+        } catch (IOException e) {
+            logger.warn("Failed to read spilled transaction {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Cache a transaction status if it has a receipt and enough confirmations to be final
+     *
+     * @param network the Ethereum network name
+     * @param txHash the transaction hash
+     * @param status the status with its confirmation count applied
+     */
+    public void putIfFinalized(String network, String txHash, TransactionStatusResponse status) {
+        Integer confirmations = status.getConfirmationCount();
+        boolean mined = "success".equals(status.getStatus()) || "failed".equals(status.getStatus());
+        if (mined && confirmations != null && confirmations >= finalityDepth) {
+            cache.put(key(network, txHash), status);
+        }
+    }
+
+    private void spill(String key, TransactionStatusResponse status) {
+        try {
+            if (!spillStore.put(key, objectMapper.writeValueAsBytes(status)) && !spillFullLogged) {
+                spillFullLogged = true;
+                logger.warn("Finalized transaction spill store is full, evicted entries are now dropped");
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to spill transaction {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static MappedSpillStore openSpillStore(CacheProperties.FinalizedTransactions props) {
+        String path = props.getSpillPath();
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        int capacityMb = props.getSpillCapacityMb();
+        if (capacityMb < 1 || capacityMb > MappedSpillStore.MAX_CAPACITY_MB) {
+            throw new IllegalArgumentException("app.cache.finalized-transactions.spill-capacity-mb must be between 1 and "
+                    + MappedSpillStore.MAX_CAPACITY_MB + ", got " + capacityMb);
+        }
+        try {
+            return new MappedSpillStore(Path.of(path), capacityMb * 1024L * 1024);
+        } catch (IOException e) {
+            logger.warn("Failed to open finalized transaction spill store at {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (spillStore == null) {
+            return;
+        }
+        try {
+            spillStore.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close finalized transaction spill store: {}", e.getMessage());
+        }
+    }
+
+    private static String key(String network, String txHash) {
+        return network + ":" + txHash.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.GasOracleProperties;
+import com.example.wallet.domain.eth.GasFeeSnapshot;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.example.wallet.infra.eth.IEthClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Keeps a precomputed, immutable gas fee suggestion per Ethereum network
+ * Snapshots are rebuilt from fee history whenever the chain head advances, so requests are served
+ * from memory; a missing or stale snapshot is rebuilt on the calling thread
+ */
+@Component
+public class GasFeeOracle {
+    private static final Logger logger = LoggerFactory.getLogger(GasFeeOracle.class);
+
+    private final IEthClient ethClient;
+    private final ChainHeadTracker chainHeadTracker;
+    private final GasOracleProperties gasOracleProperties;
+    private final SingleFlight singleFlight;
+    private final ExecutorService upstreamExecutor;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public GasFeeOracle(IEthClient ethClient, ChainHeadTracker chainHeadTracker, GasOracleProperties gasOracleProperties,
+                        SingleFlight singleFlight, @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor) {
+        this.ethClient = ethClient;
+        this.chainHeadTracker = chainHeadTracker;
+        this.gasOracleProperties = gasOracleProperties;
+        this.singleFlight = singleFlight;
+        this.upstreamExecutor = upstreamExecutor;
+        chainHeadTracker.addListener(this::onNewHead);
+    }
+
+    /**
+     * Get the current gas fee suggestion for a network
+     *
+     * @param network the Ethereum network name
+     * @return the latest snapshot, shared between callers
+     */
+    public GasFeeSnapshot get(String network) {
+        // Make sure the network is tracked so new heads keep the snapshot fresh
+        chainHeadTracker.head(network);
+        Snapshot snapshot = snapshots.get(network);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.builtAt() <= gasOracleProperties.getMaxAgeMs()) {
+            return snapshot.suggestion();
+        }
+        return refresh(network);
+    }
+
+    private void onNewHead(String network, long blockNumber) {
+        if (!snapshots.containsKey(network)) {
+            return;
+        }
+        upstreamExecutor.execute(() -> {
+            try {
+                refresh(network);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to refresh gas fees for network {} at block {}: {}", network, blockNumber, e.getMessage());
+            }
+        });
+    }
+
+    private GasFeeSnapshot refresh(String network) {
+        return singleFlight.execute("eth-gas-fee", network, () -> {
+            GasFeeSnapshot suggestion = GasFeeSnapshot.of(ethClient.getFeeHistorySuggestion(network));
+            snapshots.put(network, new Snapshot(suggestion, System.currentTimeMillis()));
+            return suggestion;
+        });
+    }
+
+    private record Snapshot(GasFeeSnapshot suggestion, long builtAt) {}
+}
@@ -0,0 +1,81 @@
+package com.example.wallet.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only key/value spill area backed by a memory-mapped file
+ * Entries are length-prefixed byte records indexed in memory; the file is scratch space,
+ * recreated on startup, and stops accepting entries once full
+ */
+final class MappedSpillStore implements Closeable {
+    // A MappedByteBuffer is int-indexed, so one mapping stays below 2 GiB
+    static final int MAX_CAPACITY_MB = Integer.MAX_VALUE / (1024 * 1024);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Integer> index = new HashMap<>();
+
+    MappedSpillStore(Path path, long capacityBytes) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+    }
+
+    /**
+     * Append an entry
+     *
+     * @return false if the store is full
+     */
+    synchronized boolean put(String key, byte[] value) {
+        if (index.containsKey(key)) {
+            return true;
+        }
+        if (buffer.remaining() < Integer.BYTES + value.length) {
+            return false;
+        }
+        index.put(key, buffer.position());
+        buffer.putInt(value.length).put(value);
+        return true;
+    }
+
+    /**
+     * Read an entry back
+     *
+     * @return the stored bytes, or null if the key was never spilled
+     */
+    synchronized byte[] get(String key) {
+        Integer offset = index.get(key);
+        if (offset == null) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        byte[] value = new byte[length];
+        buffer.get(offset + Integer.BYTES, value);
+        return value;
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        index.clear();
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+}
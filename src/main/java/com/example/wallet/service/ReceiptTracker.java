@@ -0,0 +1,179 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.TxTrackerProperties;
+import com.example.wallet.domain.eth.TransactionStatusResponse;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.example.wallet.infra.eth.IEthClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Tracks transactions broadcast through this service until they are mined
+ * On every new block all pending hashes of the network are polled for receipts in JSON-RPC batches,
+ * so status reads are served from memory and RPC cost scales with pending transactions, not client polls
+ */
+@Component
+public class ReceiptTracker {
+    private static final Logger logger = LoggerFactory.getLogger(ReceiptTracker.class);
+
+    private final IEthClient ethClient;
+    private final TxTrackerProperties txTrackerProperties;
+    private final ChainHeadTracker chainHeadTracker;
+    private final ExecutorService upstreamExecutor;
+    private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+
+    public ReceiptTracker(IEthClient ethClient, TxTrackerProperties txTrackerProperties, ChainHeadTracker chainHeadTracker,
+                          @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor) {
+        this.ethClient = ethClient;
+        this.txTrackerProperties = txTrackerProperties;
+        this.chainHeadTracker = chainHeadTracker;
+        this.upstreamExecutor = upstreamExecutor;
+        chainHeadTracker.addListener(this::onNewHead);
+    }
+
+    /**
+     * Start tracking a broadcast transaction
+     *
+     * @param network the Ethereum network name
+     * @param txHash the transaction hash returned by the node
+     * @param from the sender recovered from the signed transaction, if known
+     * @param to the recipient of the signed transaction, if known
+     * @param value the value of the signed transaction in wei, if known
+     */
+    public void track(String network, String txHash, String from, String to, String value) {
+        tracked.putIfAbsent(key(network, txHash), new Tracked(network, txHash, from, to, value, System.currentTimeMillis()));
+        // Make sure the network's head is followed so new blocks trigger a poll
+        chainHeadTracker.head(network);
+    }
+
+    /**
+     * Get the status of a tracked transaction
+     *
+     * @param network the Ethereum network name
+     * @param txHash the transaction hash
+     * @return the receipt status once mined, a pending status shortly after broadcast, or null if the hash is not
+     *         tracked or has been pending for longer than the grace period, so the node is asked instead
+     */
+    public TransactionStatusResponse lookup(String network, String txHash) {
+        Tracked entry = tracked.get(key(network, txHash));
+        if (entry == null) {
+            return null;
+        }
+        TransactionStatusResponse status = entry.status;
+        if (status != null) {
+            return status;
+        }
+        // A transaction still pending after the grace period may have been dropped or replaced, which only the node knows
+        if (System.currentTimeMillis() - entry.trackedAt > txTrackerProperties.getPendingGraceSeconds() * 1000) {
+            return null;
+        }
+        TransactionStatusResponse pending = new TransactionStatusResponse();
+        pending.setTransactionHash(entry.txHash);
+        pending.setFrom(entry.from);
+        pending.setTo(entry.to);
+        pending.setValue(entry.value);
+        pending.setStatus("pending");
+        return pending;
+    }
+
+    private void onNewHead(String network, long blockNumber) {
+        upstreamExecutor.execute(() -> pollNetwork(network));
+    }
+
+    /**
+     * Poll every pending transaction of a network for its receipt
+     */
+    void pollNetwork(String network) {
+        List<Tracked> pending = sweep(network);
+        if (pending.isEmpty()) {
+            return;
+        }
+        int batchSize = Math.max(1, txTrackerProperties.getBatchSize());
+        for (int i = 0; i < pending.size(); i += batchSize) {
+            List<Tracked> batch = pending.subList(i, Math.min(i + batchSize, pending.size()));
+            List<String> hashes = batch.stream().map(entry -> entry.txHash).toList();
+            try {
+                Map<String, TransactionStatusResponse> receipts = ethClient.getTransactionReceipts(network, hashes);
+                for (Tracked entry : batch) {
+                    TransactionStatusResponse status = receipts.get(entry.txHash);
+                    if (status != null) {
+                        entry.status = merge(entry, status);
+                        entry.minedAt = System.currentTimeMillis();
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to poll {} receipts on network {}: {}", hashes.size(), network, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Complete a receipt-only status with what was known when the transaction was broadcast,
+     * so a mined transaction reports the same fields as one looked up with eth_getTransactionByHash
+     */
+    private static TransactionStatusResponse merge(Tracked entry, TransactionStatusResponse receipt) {
+        TransactionStatusResponse status = receipt.copy();
+        if (status.getFrom() == null) {
+            status.setFrom(entry.from);
+        }
+        if (status.getTo() == null && status.getContractAddress() == null) {
+            status.setTo(entry.to);
+        }
+        if (status.getValue() == null) {
+            status.setValue(entry.value);
+        }
+        return status;
+    }
+
+    /**
+     * Drop expired entries and return the ones of a network still waiting for a receipt
+     */
+    private List<Tracked> sweep(String network) {
+        long now = System.currentTimeMillis();
+        long pendingTimeout = txTrackerProperties.getPendingTimeoutMinutes() * 60_000;
+        long retention = txTrackerProperties.getRetentionMinutes() * 60_000;
+        List<Tracked> pending = new ArrayList<>();
+        tracked.values().removeIf(entry -> entry.status != null
+                ? now - entry.minedAt > retention
+                : now - entry.trackedAt > pendingTimeout);
+        for (Tracked entry : tracked.values()) {
+            if (entry.status == null && entry.network.equals(network)) {
+                pending.add(entry);
+            }
+        }
+        return pending;
+    }
+
+    private static String key(String network, String txHash) {
+        return network + ":" + txHash.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Tracked {
+        final String network;
+        final String txHash;
+        final String from;
+        final String to;
+        final String value;
+        final long trackedAt;
+        volatile TransactionStatusResponse status;
+        volatile long minedAt;
+
+        Tracked(String network, String txHash, String from, String to, String value, long trackedAt) {
+            this.network = network;
+            this.txHash = txHash;
+            this.from = from;
+            this.to = to;
+            this.value = value;
+            this.trackedAt = trackedAt;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.wallet.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical in-flight upstream calls
+ * The first caller for a key runs the call; callers arriving while it is in flight wait for
+ * and share its result (or failure) instead of issuing their own request
+ */
+@Component
+public class SingleFlight {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> deduplicated = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run a call, or join an identical one already in flight
+     *
+     * @param operation the operation name, used to namespace keys and tag metrics
+     * @param key identifies identical calls within the operation
+     * @param call the upstream call
+     * @return the shared result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String key, Supplier<T> call) {
+        String flightKey = operation + ":" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter(operation).increment();
+            return (T) await(existing);
+        }
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String operation) {
+        return deduplicated.computeIfAbsent(operation, op -> Counter.builder("wallet.singleflight.deduplicated")
+                .description("Upstream calls served by joining an identical in-flight call")
+                .tag("operation", op)
+                .register(meterRegistry));
+    }
+}
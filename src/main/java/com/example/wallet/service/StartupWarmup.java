@@ -0,0 +1,79 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.AppProperties;
+import com.example.wallet.infra.eth.IEthClient;
+import com.example.wallet.infra.eth.Web3jRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Warms up upstream connections once the application is ready
+ * Asks every RPC endpoint of each configured ETH network for its chain ID, which opens its connection and
+ * evicts endpoints serving another chain, then pins the network's chain ID. Also opens pooled connections to the Blockscout and BTC hosts so the first real request is not slow
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmup {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final AppProperties appProperties;
+    private final IEthClient ethClient;
+    private final Web3jRegistry web3jRegistry;
+    private final RestTemplate restTemplate;
+    private final ExecutorService upstreamExecutor;
+
+    public StartupWarmup(AppProperties appProperties, IEthClient ethClient, Web3jRegistry web3jRegistry,
+                         RestTemplate restTemplate, @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor) {
+        this.appProperties = appProperties;
+        this.ethClient = ethClient;
+        this.web3jRegistry = web3jRegistry;
+        this.restTemplate = restTemplate;
+        this.upstreamExecutor = upstreamExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (String network : appProperties.getRpc().getEth().keySet()) {
+            upstreamExecutor.execute(() -> {
+                try {
+                    web3jRegistry.verifyChainId(network);
+                    long chainId = ethClient.getChainId(network);
+                    logger.info("Resolved chain ID {} for ETH network {}", chainId, network);
+                } catch (Exception e) {
+                    logger.warn("Failed to resolve chain ID for ETH network {}: {}", network, e.getMessage());
+                }
+            });
+        }
+        for (String url : restEndpoints()) {
+            upstreamExecutor.execute(() -> {
+                try {
+                    restTemplate.headForHeaders(url);
+                } catch (Exception e) {
+                    // Any response, even an error status, leaves a pooled connection behind
+                    logger.debug("Warm-up request to {} returned: {}", url, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private Set<String> restEndpoints() {
+        Set<String> urls = new LinkedHashSet<>();
+        Map<String, Map<String, String>> blockscout = appProperties.getBlockscout();
+        if (blockscout != null) {
+            blockscout.values().forEach(networks -> urls.addAll(networks.values()));
+        }
+        urls.addAll(appProperties.getRpc().getBtc().values());
+        return urls;
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.IAppProperties;
+import com.example.wallet.config.SubscriptionProperties;
+import com.example.wallet.domain.AddressBalance;
+import com.example.wallet.domain.BalanceResponse;
+import com.example.wallet.domain.eth.ChainHead;
+import com.example.wallet.domain.eth.TransactionStatusResponse;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.example.wallet.infra.eth.IEthClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes ETH balance and transaction status changes to Server-Sent Events subscribers
+ * Subscribers are refreshed together once per new block of their network: the addresses and pending
+ * transaction hashes of all of them are fetched in shared JSON-RPC batches, and each subscriber is only
+ * sent what changed, so upstream cost scales with distinct addresses rather than with connected clients
+ * Events are queued per subscriber and written by a per-subscriber drain task, so a slow client only
+ * delays itself; one whose queue fills up is disconnected
+ */
+@Component
+public class SubscriptionService {
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionService.class);
+
+    private final IEthClient ethClient;
+    private final IAppProperties appProperties;
+    private final SubscriptionProperties subscriptionProperties;
+    private final ChainHeadTracker chainHeadTracker;
+    private final ExecutorService upstreamExecutor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Networks with a refresh in flight; a head seen meanwhile is covered by the next one
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public SubscriptionService(IEthClient ethClient, IAppProperties appProperties, SubscriptionProperties subscriptionProperties,
+                               ChainHeadTracker chainHeadTracker, @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor,
+                               MeterRegistry meterRegistry) {
+        this.ethClient = ethClient;
+        this.appProperties = appProperties;
+        this.subscriptionProperties = subscriptionProperties;
+        this.chainHeadTracker = chainHeadTracker;
+        this.upstreamExecutor = upstreamExecutor;
+        chainHeadTracker.addListener(this::onNewHead);
+        Gauge.builder("wallet.subscriptions.active", subscribers, Set::size)
+                .description("Connected balance and transaction subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to balance changes of addresses and the receipts of transactions on a network
+     * The current balances and any already mined transactions are sent right away; after that a "head"
+     * event is sent per new block, followed by "balance" events for changed balances and "transaction"
+     * events for newly mined transactions. The stream completes once all watched transactions are mined
+     * and no addresses are watched
+     *
+     * @param network the Ethereum network name
+     * @param addresses the addresses to watch, may be empty
+     * @param txHashes the transaction hashes to watch, may be empty
+     * @return the event stream
+     */
+    public SseEmitter subscribe(String network, List<String> addresses, List<String> txHashes) {
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(subscriptionProperties.getTimeoutMinutes()).toMillis());
+        register(network, addresses, txHashes, emitter);
+        return emitter;
+    }
+
+    void register(String network, List<String> addresses, List<String> txHashes, SseEmitter emitter) {
+        if (appProperties.getRpc().getEth().get(network) == null) {
+            throw new IllegalArgumentException("Unsupported ETH network: " + network);
+        }
+        if (addresses.isEmpty() && txHashes.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to subscribe to: no addresses or transaction hashes given");
+        }
+        if (subscribers.size() >= subscriptionProperties.getMaxSubscribers()) {
+            throw new IllegalStateException("Too many subscribers");
+        }
+        Subscriber subscriber = new Subscriber(network, addresses, txHashes, emitter,
+                Math.max(1, subscriptionProperties.getMaxPendingEvents()));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Follow the network's head so new blocks trigger a refresh
+        long head = chainHeadTracker.head(network);
+        upstreamExecutor.execute(() -> refresh(network, head, List.of(subscriber)));
+    }
+
+    private void onNewHead(String network, long blockNumber) {
+        if (!refreshing.add(network)) {
+            return;
+        }
+        try {
+            upstreamExecutor.execute(() -> {
+                try {
+                    refreshNetwork(network, blockNumber);
+                } finally {
+                    refreshing.remove(network);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(network);
+            throw e;
+        }
+    }
+
+    /**
+     * Refresh every subscriber of a network against one new block
+     */
+    void refreshNetwork(String network, long blockNumber) {
+        List<Subscriber> targets = new ArrayList<>();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.network.equals(network)) {
+                targets.add(subscriber);
+            }
+        }
+        if (!targets.isEmpty()) {
+            refresh(network, blockNumber, targets);
+        }
+    }
+
+    /**
+     * Fetch the union of the subscribers' addresses and pending transactions, then send each its changes
+     */
+    private void refresh(String network, long blockNumber, List<Subscriber> targets) {
+        Set<String> addresses = new LinkedHashSet<>();
+        Set<String> txHashes = new LinkedHashSet<>();
+        for (Subscriber subscriber : targets) {
+            addresses.addAll(subscriber.addresses.keySet());
+            txHashes.addAll(subscriber.pendingTxHashes);
+        }
+        Map<String, String> balances = fetchBalances(network, new ArrayList<>(addresses));
+        Map<String, TransactionStatusResponse> receipts = fetchReceipts(network, new ArrayList<>(txHashes));
+        for (Subscriber subscriber : targets) {
+            deliver(subscriber, blockNumber, balances, receipts);
+        }
+    }
+
+    private Map<String, String> fetchBalances(String network, List<String> addresses) {
+        Map<String, String> balances = new HashMap<>();
+        int batchSize = Math.max(1, subscriptionProperties.getBatchSize());
+        for (int i = 0; i < addresses.size(); i += batchSize) {
+            List<String> batch = addresses.subList(i, Math.min(i + batchSize, addresses.size()));
+            try {
+                for (AddressBalance balance : ethClient.getBalances(network, batch)) {
+                    if (balance.balance() != null) {
+                        balances.put(balance.address(), balance.balance());
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to refresh {} subscribed balances on network {}: {}", batch.size(), network, e.getMessage());
+            }
+        }
+        return balances;
+    }
+
+    private Map<String, TransactionStatusResponse> fetchReceipts(String network, List<String> txHashes) {
+        Map<String, TransactionStatusResponse> receipts = new HashMap<>();
+        int batchSize = Math.max(1, subscriptionProperties.getBatchSize());
+        for (int i = 0; i < txHashes.size(); i += batchSize) {
+            List<String> batch = txHashes.subList(i, Math.min(i + batchSize, txHashes.size()));
+            try {
+                receipts.putAll(ethClient.getTransactionReceipts(network, batch));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to refresh {} subscribed receipts on network {}: {}", batch.size(), network, e.getMessage());
+            }
+        }
+        return receipts;
+    }
+
+    /**
+     * Work out what changed for one subscriber and queue it for sending
+     * Nothing here blocks on the client, so one slow connection cannot hold up a network's refresh
+     */
+    private void deliver(Subscriber subscriber, long blockNumber, Map<String, String> balances,
+                         Map<String, TransactionStatusResponse> receipts) {
+        List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+        // The initial refresh and a new head may race for the same subscriber
+        subscriber.lock.lock();
+        try {
+            if (blockNumber >= 0) {
+                events.add(SseEmitter.event().name("head").data(new ChainHead(subscriber.network, blockNumber)));
+            }
+            for (Map.Entry<String, String> address : subscriber.addresses.entrySet()) {
+                String wei = balances.get(address.getKey());
+                if (wei != null && !wei.equals(subscriber.balances.put(address.getKey(), wei))) {
+                    events.add(SseEmitter.event().name("balance")
+                            .data(new BalanceResponse("ETH", subscriber.network, address.getValue(), wei)));
+                }
+            }
+            for (String txHash : List.copyOf(subscriber.pendingTxHashes)) {
+                TransactionStatusResponse status = receipts.get(txHash);
+                if (status != null) {
+                    events.add(SseEmitter.event().name("transaction").data(status));
+                    subscriber.pendingTxHashes.remove(txHash);
+                }
+            }
+            for (SseEmitter.SseEventBuilder event : events) {
+                if (!subscriber.outbox.offer(event)) {
+                    // The client is not keeping up; it gets current balances again when it reconnects
+                    logger.debug("Dropping slow subscriber on network {}", subscriber.network);
+                    close(subscriber);
+                    return;
+                }
+            }
+            if (subscriber.addresses.isEmpty() && subscriber.pendingTxHashes.isEmpty()) {
+                subscribers.remove(subscriber);
+                subscriber.finished = true;
+            }
+        } finally {
+            subscriber.lock.unlock();
+        }
+        if ((!events.isEmpty() || subscriber.finished) && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                upstreamExecutor.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to schedule delivery on network {}: {}", subscriber.network, e.getMessage());
+                close(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Send a subscriber's queued events in order; at most one drain runs per subscriber
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = subscriber.outbox.poll()) != null) {
+                    subscriber.emitter.send(event);
+                }
+                if (subscriber.finished) {
+                    close(subscriber);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                logger.debug("Dropping subscriber on network {}: {}", subscriber.network, e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.outbox.clear();
+            } finally {
+                subscriber.draining.set(false);
+            }
+            // Events queued after the last poll but before draining was cleared are picked up here
+        } while (!subscriber.outbox.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.outbox.clear();
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private static String key(String hex) {
+        return hex.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Subscriber {
+        final String network;
+        final SseEmitter emitter;
+        // Lowercased address to the address as given by the client
+        final Map<String, String> addresses = new LinkedHashMap<>();
+        final Set<String> pendingTxHashes = ConcurrentHashMap.newKeySet();
+        // Guards balances and the change checks; never held while writing to the client
+        final ReentrantLock lock = new ReentrantLock();
+        // Last balance sent per lowercased address
+        final Map<String, String> balances = new HashMap<>();
+        final BlockingQueue<SseEmitter.SseEventBuilder> outbox;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile boolean finished;
+
+        Subscriber(String network, List<String> addresses, List<String> txHashes, SseEmitter emitter, int maxPendingEvents) {
+            this.network = network;
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(maxPendingEvents);
+            for (String address : addresses) {
+                this.addresses.putIfAbsent(key(address), address);
+            }
+            for (String txHash : txHashes) {
+                pendingTxHashes.add(key(txHash));
+            }
+        }
+    }
+}
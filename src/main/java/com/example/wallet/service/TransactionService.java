@@ -1,15 +1,18 @@
 package com.example.wallet.service;
 
 import java.io.IOException;
+import java.util.Locale;
 
 import com.example.wallet.domain.eth.EthTransferRequest;
 import com.example.wallet.domain.eth.EthTransferResponse;
-import com.example.wallet.domain.eth.GasFeeSuggestion;
+import com.example.wallet.domain.eth.GasFeeSnapshot;
 import com.example.wallet.domain.eth.NonceResponse;
 import com.example.wallet.domain.eth.TokenTransferRequest;
 import com.example.wallet.domain.eth.TokenTransferResponse;
 import com.example.wallet.domain.eth.TransactionStatusResponse;
+import com.example.wallet.infra.eth.ChainHeadTracker;
 import com.example.wallet.infra.eth.IEthClient;
+import com.example.wallet.infra.eth.SignedTransactions;
 import org.springframework.stereotype.Service;
 
 /**
@@ -19,24 +22,42 @@ import org.springframework.stereotype.Service;
 public class TransactionService {
 
     private final IEthClient ethClient;
+    private final SingleFlight singleFlight;
+    private final GasFeeOracle gasFeeOracle;
+    private final ReceiptTracker receiptTracker;
+    private final ChainHeadTracker chainHeadTracker;
+    private final FinalizedTransactionCache finalizedTransactionCache;
 
-    public TransactionService(IEthClient ethClient) {
+    public TransactionService(IEthClient ethClient, SingleFlight singleFlight, GasFeeOracle gasFeeOracle,
+                              ReceiptTracker receiptTracker, ChainHeadTracker chainHeadTracker,
+                              FinalizedTransactionCache finalizedTransactionCache) {
         this.ethClient = ethClient;
+        this.singleFlight = singleFlight;
+        this.gasFeeOracle = gasFeeOracle;
+        this.receiptTracker = receiptTracker;
+        this.chainHeadTracker = chainHeadTracker;
+        this.finalizedTransactionCache = finalizedTransactionCache;
     }
     
     /**
      * Get gas fee suggestions for Ethereum transactions
+     * Served from the gas oracle's snapshot, which is refreshed on every new block
      */
-    public GasFeeSuggestion getGasFeeSuggestion(String network) {
-        return ethClient.getGasFeeSuggestion(network);
+    public GasFeeSnapshot getGasFeeSuggestion(String network) {
+        return gasFeeOracle.get(network);
     }
     
     /**
      * Send an Ethereum transaction
      * Takes a signed transaction from client and broadcasts it to the network
+     * Returns once the node accepts it; the receipt is tracked in the background
      */
     public EthTransferResponse sendEthTransaction(String network, EthTransferRequest request) {
-        return ethClient.sendTransaction(network, request);
+        EthTransferResponse response = ethClient.sendTransaction(network, request);
+        if (response.getTransactionHash() != null) {
+            track(network, response.getTransactionHash(), request.getSignedTransaction());
+        }
+        return response;
     }
     
     /**
@@ -48,7 +69,21 @@ public class TransactionService {
      * @return response with transaction details
      */
     public TokenTransferResponse sendTokenTransaction(String network, TokenTransferRequest request) {
-        return ethClient.sendTokenTransaction(network, request);
+        TokenTransferResponse response = ethClient.sendTokenTransaction(network, request);
+        if (response.getTransactionHash() != null) {
+            track(network, response.getTransactionHash(), request.getSignedTransaction());
+        }
+        return response;
+    }
+    
+    /**
+     * Track a broadcast transaction with the fields its signature commits to
+     * The request's own from/to/value are informational client input and are never reported back as status;
+     * for a token transfer the decoded recipient is the token contract and the value is the ETH sent, usually 0
+     */
+    private void track(String network, String txHash, String signedTransaction) {
+        SignedTransactions.Decoded decoded = SignedTransactions.decode(signedTransaction);
+        receiptTracker.track(network, txHash, decoded.from(), decoded.to(), decoded.value());
     }
     
     /**
@@ -74,7 +109,40 @@ public class TransactionService {
      * @return detailed transaction status and receipt information
      */
     public TransactionStatusResponse getTransactionStatus(String network, String txHash) {
-        return ethClient.getTransactionStatus(network, txHash);
+        // Transactions broadcast here are answered from memory, pending or mined
+        // Finalized transactions never change apart from their confirmation count
+        TransactionStatusResponse finalized = finalizedTransactionCache.get(network, txHash);
+        if (finalized != null) {
+            return withConfirmations(network, finalized);
+        }
+        TransactionStatusResponse status = receiptTracker.lookup(network, txHash);
+        if (status == null) {
+            status = singleFlight.execute("eth-tx-status", network + ":" + txHash.toLowerCase(Locale.ROOT),
+                    () -> ethClient.getTransactionStatus(network, txHash));
+        }
+        status = withConfirmations(network, status);
+        finalizedTransactionCache.putIfFinalized(network, txHash, status);
+        return status;
+    }
+    
+    /**
+     * Derive the confirmation count of a mined transaction from the tracked chain head
+     * instead of asking the node for the block number on every lookup
+     * The given status may be shared with other requests (single flight, receipt tracker, finalized
+     * cache), so the count is set on a copy and the shared instance is never modified
+     */
+    private TransactionStatusResponse withConfirmations(String network, TransactionStatusResponse status) {
+        // Only transactions with a receipt report confirmations
+        if (status.getBlockNumber() == null || status.getGasUsed() == null) {
+            return status;
+        }
+        long head = chainHeadTracker.currentHead(network);
+        if (head < 0) {
+            return status;
+        }
+        TransactionStatusResponse copy = status.copy();
+        copy.setConfirmationCount((int) Math.max(0, head - Long.parseLong(status.getBlockNumber())));
+        return copy;
     }
     
     /**
@@ -85,6 +153,7 @@ public class TransactionService {
      * @return the current nonce value
      */
     public NonceResponse getNonce(String network, String address) {
-        return ethClient.getNonce(network, address);
+        return singleFlight.execute("eth-nonce", network + ":" + address.toLowerCase(Locale.ROOT),
+                () -> ethClient.getNonce(network, address));
     }
 }
@@ -0,0 +1,179 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.domain.btc.Utxo;
+import com.example.wallet.infra.btc.AddressTransaction;
+import com.example.wallet.infra.btc.IBtcClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-address UTXO sets kept up to date incrementally
+ * The confirmed set is loaded once from the provider's UTXO list and then advanced by walking
+ * /address/{a}/txs/chain back to the newest transaction already applied; unconfirmed outputs are
+ * overlaid from the mempool on each refresh. Providers without a transaction cursor are not cached
+ */
+@Component
+public class UtxoSetCache {
+    private final IBtcClient btcClient;
+    private final Cache<String, AddressUtxos> sets;
+    private final long refreshIntervalNanos;
+    private final int maxCatchUpPages;
+    private final Counter fullLoads;
+    private final Counter incrementalRefreshes;
+
+    public UtxoSetCache(IBtcClient btcClient, CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.btcClient = btcClient;
+        CacheProperties.UtxoSet props = cacheProperties.getUtxoSet();
+        this.refreshIntervalNanos = TimeUnit.SECONDS.toNanos(props.getRefreshIntervalSeconds());
+        this.maxCatchUpPages = props.getMaxCatchUpPages();
+        this.sets = Caffeine.newBuilder()
+                .maximumSize(props.getMaxAddresses())
+                .expireAfterAccess(Duration.ofMinutes(props.getExpireAfterAccessMinutes()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sets, "utxo-set");
+        this.fullLoads = Counter.builder("wallet.cache.utxo-set.refresh")
+                .tag("mode", "full")
+                .description("UTXO set refreshes that reloaded the full UTXO list")
+                .register(meterRegistry);
+        this.incrementalRefreshes = Counter.builder("wallet.cache.utxo-set.refresh")
+                .tag("mode", "incremental")
+                .description("UTXO set refreshes applied from new address transactions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the UTXOs of an address, refreshing the cached set once the refresh interval has passed
+     *
+     * @param network the Bitcoin network name
+     * @param address the Bitcoin address
+     * @return confirmed and unconfirmed unspent outputs
+     */
+    public List<Utxo> get(String network, String address) {
+        if (!btcClient.supportsTransactionCursor(network)) {
+            return btcClient.getUtxos(network, address);
+        }
+        AddressUtxos entry = sets.get(network + ":" + address, key -> new AddressUtxos());
+        // Callers for the same address queue behind one refresh; a lock rather than synchronized keeps
+        // virtual threads unpinned while the refresh waits on the provider
+        entry.lock.lock();
+        try {
+            if (entry.snapshot != null && System.nanoTime() - entry.refreshedAt < refreshIntervalNanos) {
+                return entry.snapshot;
+            }
+            if (entry.loaded && catchUp(network, address, entry)) {
+                incrementalRefreshes.increment();
+            } else {
+                reload(network, address, entry);
+                fullLoads.increment();
+            }
+            entry.snapshot = List.copyOf(overlay(entry.confirmed, btcClient.getMempoolTransactions(network, address)).values());
+            entry.refreshedAt = System.nanoTime();
+            return entry.snapshot;
+        } catch (RuntimeException e) {
+            // Start from a clean load next time rather than trusting a half-applied set
+            entry.loaded = false;
+            entry.snapshot = null;
+            throw e;
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /**
+     * Apply confirmed transactions newer than the cursor
+     *
+     * @return false if the cursor was not found within the page limit, e.g. after a reorg
+     */
+    private boolean catchUp(String network, String address, AddressUtxos entry) {
+        List<AddressTransaction> fresh = new ArrayList<>();
+        String lastSeen = null;
+        for (int page = 0; page < maxCatchUpPages; page++) {
+            List<AddressTransaction> transactions = btcClient.getChainTransactions(network, address, lastSeen);
+            for (AddressTransaction tx : transactions) {
+                if (tx.txid().equals(entry.cursor)) {
+                    advance(entry, fresh);
+                    return true;
+                }
+                fresh.add(tx);
+            }
+            if (transactions.isEmpty()) {
+                // History exhausted: only fine if the address had no confirmed transactions before
+                if (entry.cursor == null) {
+                    advance(entry, fresh);
+                    return true;
+                }
+                return false;
+            }
+            lastSeen = transactions.get(transactions.size() - 1).txid();
+        }
+        return false;
+    }
+
+    private void advance(AddressUtxos entry, List<AddressTransaction> fresh) {
+        if (fresh.isEmpty()) {
+            return;
+        }
+        entry.confirmed = overlay(entry.confirmed, fresh);
+        entry.cursor = fresh.get(0).txid();
+    }
+
+    private void reload(String network, String address, AddressUtxos entry) {
+        // Read the cursor before the UTXO list: a transaction confirming in between is then
+        // applied again on the next catch-up, which is harmless, instead of being missed
+        List<AddressTransaction> newest = btcClient.getChainTransactions(network, address, null);
+        Map<String, Utxo> confirmed = new LinkedHashMap<>();
+        for (Utxo utxo : btcClient.getUtxos(network, address)) {
+            if (utxo.confirmed()) {
+                confirmed.put(outpoint(utxo), utxo);
+            }
+        }
+        entry.confirmed = confirmed;
+        entry.cursor = newest.isEmpty() ? null : newest.get(0).txid();
+        entry.loaded = true;
+    }
+
+    /**
+     * Apply transactions on top of a UTXO set
+     * All outputs are added before any spend is removed, so the result does not depend on
+     * the order of transactions within a block
+     */
+    private static Map<String, Utxo> overlay(Map<String, Utxo> base, List<AddressTransaction> transactions) {
+        Map<String, Utxo> utxos = new LinkedHashMap<>(base);
+        for (AddressTransaction tx : transactions) {
+            for (Utxo output : tx.outputs()) {
+                utxos.put(outpoint(output), output);
+            }
+        }
+        for (AddressTransaction tx : transactions) {
+            tx.spentOutpoints().forEach(utxos::remove);
+        }
+        return utxos;
+    }
+
+    private static String outpoint(Utxo utxo) {
+        return utxo.txid() + ":" + utxo.vout();
+    }
+
+    private static final class AddressUtxos {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<String, Utxo> confirmed = Map.of();
+        private String cursor;
+        private boolean loaded;
+        private List<Utxo> snapshot;
+        private long refreshedAt;
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.wallet.web;
 
+import com.example.wallet.domain.AddressBalance;
 import com.example.wallet.domain.BalanceResponse;
+import com.example.wallet.domain.BulkBalanceRequest;
 import com.example.wallet.domain.btc.BitcoinAddressInfo;
+import com.example.wallet.domain.btc.Utxo;
 import com.example.wallet.service.BalanceService;
 import com.example.wallet.service.BtcService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -18,10 +26,12 @@ public class BtcController {
 
     private final BalanceService balanceService;
     private final BtcService btcService;
+    private final ObjectMapper objectMapper;
 
-    public BtcController(BalanceService balanceService, BtcService btcService) {
+    public BtcController(BalanceService balanceService, BtcService btcService, ObjectMapper objectMapper) {
         this.balanceService = balanceService;
         this.btcService = btcService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -38,6 +48,24 @@ public class BtcController {
         return ResponseEntity.ok(balanceService.btcBalance(network, address));
     }
 
+    /**
+     * Get balances for many Bitcoin addresses
+     * Lookups fan out with bounded concurrency and are streamed back as a JSON array
+     * in request order; an address whose lookup failed carries an error instead of a balance
+     * 
+     * @param network Bitcoin network (mainnet, testnet)
+     * @param request Addresses to query
+     * @return Balances in satoshis
+     */
+    @PostMapping("/balances")
+    public ResponseEntity<StreamingResponseBody> getBalances(
+            @PathVariable String network,
+            @RequestBody @Valid BulkBalanceRequest request) {
+        StreamingResponseBody body = JsonStreaming.<AddressBalance>array(objectMapper,
+                sink -> balanceService.btcBalances(network, request.addresses(), sink));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Get detailed information about a Bitcoin address
      * 
@@ -60,7 +88,7 @@ public class BtcController {
      * @return List of UTXOs
      */
     @GetMapping("/{address}/utxos")
-    public ResponseEntity<String> getUtxos(
+    public ResponseEntity<List<Utxo>> getUtxos(
             @PathVariable String network,
             @PathVariable @NotBlank String address) {
         return ResponseEntity.ok(btcService.getUtxos(network, address));
@@ -1,14 +1,17 @@
 package com.example.wallet.web;
 
+import com.example.wallet.domain.AddressBalance;
 import com.example.wallet.domain.BalanceResponse;
+import com.example.wallet.domain.BulkBalanceRequest;
 import com.example.wallet.domain.blockscout.BlockscoutTransactionResponse;
 import com.example.wallet.domain.eth.BlockscoutTokenInfo;
 import com.example.wallet.domain.eth.BlockscoutTokenListResponse;
 import com.example.wallet.domain.eth.ChainIdResponse;
 import com.example.wallet.domain.eth.EthTransferRequest;
 import com.example.wallet.domain.eth.EthTransferResponse;
-import com.example.wallet.domain.eth.GasFeeSuggestion;
+import com.example.wallet.domain.eth.GasFeeSnapshot;
 import com.example.wallet.domain.eth.NonceResponse;
+import com.example.wallet.domain.eth.PortfolioResponse;
 import com.example.wallet.domain.eth.TokenBalanceResponse;
 import com.example.wallet.domain.eth.TokenTransferListResponse;
 import com.example.wallet.domain.eth.TokenTransferRequest;
@@ -16,20 +19,30 @@ import com.example.wallet.domain.eth.TokenTransferResponse;
 import com.example.wallet.domain.eth.TransactionStatusResponse;
 import com.example.wallet.service.BalanceService;
 import com.example.wallet.service.BlockscoutService;
+import com.example.wallet.service.SubscriptionService;
 import com.example.wallet.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/v1/eth/{network}")
 @Validated
 public class EthController {
     private static final Logger logger = LoggerFactory.getLogger(EthController.class);
+    private static final int MAX_PORTFOLIO_TOKENS = 200;
+    private static final int MAX_SUBSCRIPTION_ITEMS = 100;
 
     /**
      * Query ERC-20 and other token information
@@ -61,11 +74,16 @@ public class EthController {
     private final BalanceService balanceService;
     private final BlockscoutService blockscoutService;
     private final TransactionService transactionService;
+    private final SubscriptionService subscriptionService;
+    private final ObjectMapper objectMapper;
 
-    public EthController(BalanceService balanceService, BlockscoutService blockscoutService, TransactionService transactionService) {
+    public EthController(BalanceService balanceService, BlockscoutService blockscoutService, TransactionService transactionService,
+                         SubscriptionService subscriptionService, ObjectMapper objectMapper) {
         this.balanceService = balanceService;
         this.blockscoutService = blockscoutService;
         this.transactionService = transactionService;
+        this.subscriptionService = subscriptionService;
+        this.objectMapper = objectMapper;
     }
     
     /**
@@ -91,12 +109,17 @@ public class EthController {
         return ResponseEntity.ok(blockscoutService.getTransactionsAsObject(network, address, filter));
     }
     
+    /**
+     * Get the raw Blockscout transactions JSON for an address
+     * The upstream body is proxied to the client as it arrives, without buffering it in memory
+     */
     @GetMapping("/{address}/transactions/raw")
-    public ResponseEntity<String> getTransactionsRaw(
+    public ResponseEntity<StreamingResponseBody> getTransactionsRaw(
             @PathVariable String network,
             @PathVariable @NotBlank String address,
             @RequestParam(required = false) String filter) {
-        return ResponseEntity.ok(blockscoutService.getTransactions(network, address, filter));
+        StreamingResponseBody body = out -> blockscoutService.streamTransactions(network, address, filter, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{address}/balance")
@@ -106,6 +129,20 @@ public class EthController {
         return ResponseEntity.ok(balanceService.ethBalance(network, address));
     }
     
+    /**
+     * Get ETH balances for many addresses
+     * Balances are fetched with JSON-RPC batches of eth_getBalance and streamed back as a JSON array
+     * in request order; an address whose lookup failed carries an error instead of a balance
+     */
+    @PostMapping("/balances")
+    public ResponseEntity<StreamingResponseBody> getBalances(
+            @PathVariable String network,
+            @RequestBody @Valid BulkBalanceRequest request) {
+        StreamingResponseBody body = JsonStreaming.<AddressBalance>array(objectMapper,
+                sink -> balanceService.ethBalances(network, request.addresses(), sink));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
     /**
      * Get ERC-20 token balance for a wallet address
      * 
@@ -122,6 +159,23 @@ public class EthController {
         return ResponseEntity.ok(balanceService.getTokenBalance(network, tokenAddress, walletAddress));
     }
     
+    /**
+     * Get the ETH balance and ERC-20 token balances of a wallet in a single RPC request
+     * Example: /v1/eth/mainnet/0x742d.../portfolio?tokens=0xdAC1...,0xA0b8...
+     * 
+     * @param network Ethereum network (e.g., "mainnet")
+     * @param address The wallet address
+     * @param tokens Comma-separated token contract addresses
+     * @return ETH balance and token balances in request order
+     */
+    @GetMapping("/{address}/portfolio")
+    public ResponseEntity<PortfolioResponse> getPortfolio(
+            @PathVariable String network,
+            @PathVariable @NotBlank String address,
+            @RequestParam @Size(max = MAX_PORTFOLIO_TOKENS) List<String> tokens) {
+        return ResponseEntity.ok(balanceService.getPortfolio(network, address, tokens));
+    }
+    
     /**
      * Get the current nonce for an address
      * This is useful when building transactions client-side
@@ -138,9 +192,9 @@ public class EthController {
      * This endpoint provides recommended gas price values at different priority levels
      */
     @GetMapping("/gas-fees")
-    public ResponseEntity<GasFeeSuggestion> getGasFees(@PathVariable String network) {
+    public ResponseEntity<GasFeeSnapshot> getGasFees(@PathVariable String network) {
         logger.debug("[GAS-FEES] Request network: {}", network);
-        GasFeeSuggestion suggestion = transactionService.getGasFeeSuggestion(network);
+        GasFeeSnapshot suggestion = transactionService.getGasFeeSuggestion(network);
         logger.debug("[GAS-FEES] Response: {}", suggestion);
         return ResponseEntity.ok(suggestion);
     }
@@ -180,8 +234,26 @@ public class EthController {
         return ResponseEntity.ok(transactionService.getTransactionStatus(network, txHash));
     }
 
+    /**
+     * Subscribe to balance changes and transaction receipts as Server-Sent Events
+     * Replaces polling /balance and /tx/{txHash}: updates are pushed once per new block
+     * Example: /v1/eth/mainnet/subscribe?addresses=0x742d...,0x95d2...&txHashes=0xabc...
+     * 
+     * @param network Ethereum network (e.g., "mainnet")
+     * @param addresses Comma-separated addresses to watch
+     * @param txHashes Comma-separated transaction hashes to watch until mined
+     * @return an event stream of head, balance and transaction events
+     */
+    @GetMapping(path = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @PathVariable String network,
+            @RequestParam(required = false, defaultValue = "") @Size(max = MAX_SUBSCRIPTION_ITEMS) List<String> addresses,
+            @RequestParam(required = false, defaultValue = "") @Size(max = MAX_SUBSCRIPTION_ITEMS) List<String> txHashes) {
+        return subscriptionService.subscribe(network, addresses, txHashes);
+    }
+
     @GetMapping("/config/rpc")
-    public ResponseEntity<String> rpc(@PathVariable String network) {
+    public ResponseEntity<List<String>> rpc(@PathVariable String network) {
         return ResponseEntity.ok(balanceService.effectiveEthRpc(network));
     }
     
@@ -0,0 +1,40 @@
+package com.example.wallet.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Helpers for streaming JSON arrays to the client element by element
+ */
+final class JsonStreaming {
+
+    private JsonStreaming() {
+    }
+
+    /**
+     * Build a response body that writes each produced item as a JSON array element
+     * and flushes it immediately, so clients see results before the whole array is ready
+     *
+     * @param objectMapper the mapper used to serialize items
+     * @param producer pushes items into the given sink, in the order they should appear
+     */
+    static <T> StreamingResponseBody array(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        return out -> {
+            try (SequenceWriter writer = objectMapper.writer().writeValuesAsArray(out)) {
+                producer.accept(item -> {
+                    try {
+                        writer.write(item);
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+}
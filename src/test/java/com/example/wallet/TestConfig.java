@@ -2,13 +2,19 @@ package com.example.wallet;
 
 import java.util.Map;
 import java.util.HashMap;
+import java.util.List;
 import com.example.wallet.config.IAppProperties;
+import com.example.wallet.domain.AddressBalance;
+import com.example.wallet.domain.btc.BitcoinAddressInfo;
+import com.example.wallet.domain.btc.Utxo;
+import com.example.wallet.infra.btc.AddressTransaction;
 import com.example.wallet.infra.btc.IBtcClient;
 import com.example.wallet.infra.eth.IEthClient;
 import com.example.wallet.domain.eth.EthTransferRequest;
 import com.example.wallet.domain.eth.EthTransferResponse;
 import com.example.wallet.domain.eth.GasFeeSuggestion;
 import com.example.wallet.domain.eth.NonceResponse;
+import com.example.wallet.domain.eth.PortfolioResponse;
 import com.example.wallet.domain.eth.TokenBalanceResponse;
 import com.example.wallet.domain.eth.TokenTransferRequest;
 import com.example.wallet.domain.eth.TokenTransferResponse;
@@ -32,11 +38,21 @@ public class TestConfig {
                 return "0.0";
             }
             
+            @Override
+            public List<AddressBalance> getBalances(String network, List<String> addresses) {
+                return addresses.stream().map(address -> AddressBalance.of(address, "0.0")).toList();
+            }
+            
             @Override
             public TokenBalanceResponse getTokenBalance(String network, String contractAddress, String ownerAddress) {
                 return new TokenBalanceResponse();
             }
             
+            @Override
+            public PortfolioResponse getPortfolio(String network, String ownerAddress, List<String> tokenAddresses) {
+                return new PortfolioResponse(network, ownerAddress, "0x0", List.of());
+            }
+            
             @Override
             public NonceResponse getNonce(String network, String address) {
                 return new NonceResponse();
@@ -65,6 +81,11 @@ public class TestConfig {
                 return new GasFeeSuggestion();
             }
             
+            @Override
+            public GasFeeSuggestion getFeeHistorySuggestion(String network) {
+                return new GasFeeSuggestion();
+            }
+            
             @Override
             public EthTransferResponse sendTransaction(String network, EthTransferRequest request) {
                 return new EthTransferResponse();
@@ -89,6 +110,11 @@ public class TestConfig {
             public TransactionStatusResponse getTransactionStatus(String network, String txHash) {
                 return new TransactionStatusResponse();
             }
+            
+            @Override
+            public Map<String, TransactionStatusResponse> getTransactionReceipts(String network, List<String> txHashes) {
+                return Map.of();
+            }
         };
     }
     
@@ -102,14 +128,34 @@ public class TestConfig {
                 return "0.0";
             }
             
+            @Override
+            public BitcoinAddressInfo getAddressInfo(String network, String address) {
+                return new BitcoinAddressInfo(address, network, "0", 0, 0, "0", "0");
+            }
+            
             @Override
             public String getTransactionStatus(String network, String txHash) {
                 return "confirmed";
             }
             
             @Override
-            public String getUtxos(String network, String address) {
-                return "[]"; // Return an empty UTXO list
+            public List<Utxo> getUtxos(String network, String address) {
+                return List.of(); // Return an empty UTXO list
+            }
+            
+            @Override
+            public boolean supportsTransactionCursor(String network) {
+                return false;
+            }
+            
+            @Override
+            public List<AddressTransaction> getChainTransactions(String network, String address, String lastSeenTxid) {
+                return List.of();
+            }
+            
+            @Override
+            public List<AddressTransaction> getMempoolTransactions(String network, String address) {
+                return List.of();
             }
         };
     }
@@ -0,0 +1,109 @@
+package com.example.wallet.infra.btc;
+
+import com.example.wallet.config.IAppProperties;
+import com.example.wallet.config.UpstreamProperties;
+import com.example.wallet.domain.btc.BitcoinAddressInfo;
+import com.example.wallet.infra.upstream.UpstreamMetrics;
+import com.example.wallet.infra.upstream.UpstreamRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class BtcClientTest {
+
+    private static final String ADDRESS = "tb1qexample";
+    private static final String ESPLORA = "https://esplora.example";
+    private static final String BLOCKCYPHER = "https://blockcypher.example";
+    private static final String BLOCKCHAIN_INFO = "https://blockchain.example";
+
+    // Each provider reports 1000 sat confirmed and 500 sat unconfirmed
+    private static final Map<String, String> RESPONSES = Map.of(
+            ESPLORA + "/address/" + ADDRESS,
+            "{\"chain_stats\":{\"funded_txo_count\":2,\"funded_txo_sum\":3000,\"spent_txo_count\":1,"
+                    + "\"spent_txo_sum\":2000,\"tx_count\":3},\"mempool_stats\":{\"funded_txo_sum\":500}}",
+            BLOCKCYPHER + "/addrs/" + ADDRESS + "/balance",
+            "{\"balance\":1000,\"unconfirmed_balance\":500,\"final_balance\":1500}",
+            BLOCKCHAIN_INFO + "/q/addressbalance/" + ADDRESS + "?confirmations=1",
+            "1000\n");
+
+    private UpstreamRouter upstreamRouter;
+    private BtcClient btcClient;
+    private final List<String> requested = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        IAppProperties appProperties = mock(IAppProperties.class);
+        IAppProperties.Rpc rpc = mock(IAppProperties.Rpc.class);
+        when(appProperties.getRpc()).thenReturn(rpc);
+        Map<String, String> btc = new LinkedHashMap<>();
+        btc.put("blockcypher-testnet", BLOCKCYPHER);
+        btc.put("blockchain-testnet", BLOCKCHAIN_INFO);
+        btc.put("esplora-testnet", ESPLORA);
+        when(rpc.getBtc()).thenReturn(btc);
+
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class))).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            requested.add(url);
+            String body = RESPONSES.get(url);
+            if (body == null) {
+                throw new IllegalStateException("Unexpected request " + url);
+            }
+            ClientHttpResponse response = mock(ClientHttpResponse.class);
+            when(response.getBody()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+            return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+        });
+
+        upstreamRouter = new UpstreamRouter(new UpstreamProperties(), new SimpleMeterRegistry());
+        btcClient = new BtcClient(new BtcProviderPool(appProperties, upstreamRouter), upstreamRouter, restTemplate,
+                new UpstreamMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        upstreamRouter.close();
+    }
+
+    /**
+     * Every provider dialect should report the confirmed balance, whichever one serves the request
+     */
+    @Test
+    public void testGetBalance_ConfirmedOnEveryProvider() {
+        assertEquals("1000", btcClient.getBalance("esplora-testnet", ADDRESS));
+        assertEquals("1000", btcClient.getBalance("blockcypher-testnet", ADDRESS));
+        assertEquals("1000", btcClient.getBalance("blockchain-testnet", ADDRESS));
+    }
+
+    /**
+     * Address info should only be routed to one dialect, Esplora when the network has it
+     */
+    @Test
+    public void testGetAddressInfo_RoutedToOneDialect() {
+        BitcoinAddressInfo info = btcClient.getAddressInfo("testnet", ADDRESS);
+
+        assertEquals(List.of(ESPLORA + "/address/" + ADDRESS), requested);
+        assertEquals("1000", info.balance());
+        assertEquals(3, info.txCount());
+        assertEquals(1, info.unspentOutputs());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.wallet.infra.btc;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BtcJsonExtractorTest {
+
+    /**
+     * chain_stats should be read even when preceded by nested values, and mempool_stats ignored
+     */
+    @Test
+    public void testChainStats_Esplora() throws IOException {
+        String json = "{\"address\":\"bc1q\",\"extra\":{\"chain_stats\":{\"funded_txo_sum\":1}},"
+                + "\"chain_stats\":{\"funded_txo_count\":3,\"funded_txo_sum\":150000,"
+                + "\"spent_txo_count\":1,\"spent_txo_sum\":50000,\"tx_count\":4},"
+                + "\"mempool_stats\":{\"funded_txo_sum\":999}}";
+
+        BtcJsonExtractor.ChainStats stats = BtcJsonExtractor.chainStats(stream(json));
+
+        assertEquals(BigInteger.valueOf(100000), stats.balance());
+        assertEquals(4, stats.txCount());
+        assertEquals(2, stats.fundedTxoCount() - stats.spentTxoCount());
+    }
+
+    /**
+     * Parsing should stop after the wanted fields, so trailing content is never read
+     */
+    @Test
+    public void testTopLevelFields_StopsEarly() throws IOException {
+        String json = "{\"address\":\"1A1z\",\"txs\":[{\"hash\":\"ab\",\"out\":[{\"value\":1}]}],"
+                + "\"final_balance\":12345,\"broken";
+
+        assertEquals(Map.of("final_balance", "12345"), BtcJsonExtractor.topLevelFields(stream(json), Set.of("final_balance")));
+    }
+
+    /**
+     * Only the requested scalar fields should be returned
+     */
+    @Test
+    public void testTopLevelFields() throws IOException {
+        String json = "{\"final_balance\":10,\"n_tx\":2,\"txrefs\":[{\"value\":5}],\"total_sent\":\"7\"}";
+
+        Map<String, String> fields = BtcJsonExtractor.topLevelFields(stream(json),
+                Set.of("final_balance", "n_tx", "total_sent", "total_received"));
+
+        assertEquals(Map.of("final_balance", "10", "n_tx", "2", "total_sent", "7"), fields);
+    }
+
+    /**
+     * A response without chain_stats should be rejected
+     */
+    @Test
+    public void testChainStats_Missing() {
+        assertThrows(IOException.class, () -> BtcJsonExtractor.chainStats(stream("{\"address\":\"bc1q\"}")));
+    }
+
+    /**
+     * A response that is not a JSON object should be rejected
+     */
+    @Test
+    public void testTopLevelFields_NotAnObject() {
+        assertThrows(IOException.class, () -> BtcJsonExtractor.topLevelFields(stream("[]"), Set.of("balance")));
+    }
+
+    private InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
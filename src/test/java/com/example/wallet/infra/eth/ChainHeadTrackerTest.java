@@ -0,0 +1,101 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.config.ChainHeadProperties;
+import com.example.wallet.config.IAppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ChainHeadTrackerTest {
+
+    private Web3jRegistry web3jRegistry;
+    private Web3j web3j;
+    private ChainHeadTracker chainHeadTracker;
+
+    @BeforeEach
+    public void setUp() {
+        web3jRegistry = mock(Web3jRegistry.class);
+        web3j = mock(Web3j.class);
+        when(web3jRegistry.get("sepolia")).thenReturn(web3j);
+        IAppProperties appProperties = mock(IAppProperties.class);
+        IAppProperties.Rpc rpc = mock(IAppProperties.Rpc.class);
+        when(appProperties.getRpc()).thenReturn(rpc);
+        when(rpc.getEth()).thenReturn(Map.of("sepolia", "http://localhost:8545"));
+        chainHeadTracker = new ChainHeadTracker(web3jRegistry, appProperties, new ChainHeadProperties());
+    }
+
+    /**
+     * An unknown head should be reported as -1 until the network has been polled
+     */
+    @Test
+    public void testHead_UnknownUntilPolled() throws IOException {
+        setupMockBlockNumber(100L);
+
+        assertEquals(-1, chainHeadTracker.head("sepolia"));
+        chainHeadTracker.poll();
+
+        assertEquals(100, chainHeadTracker.head("sepolia"));
+    }
+
+    /**
+     * Listeners should only hear about heads that advance
+     */
+    @Test
+    public void testUpdate_NotifiesOnNewHeadOnly() {
+        List<Long> heads = new ArrayList<>();
+        chainHeadTracker.addListener((network, blockNumber) -> heads.add(blockNumber));
+
+        chainHeadTracker.update("sepolia", 100);
+        chainHeadTracker.update("sepolia", 100);
+        chainHeadTracker.update("sepolia", 99);
+        chainHeadTracker.update("sepolia", 101);
+
+        assertEquals(List.of(100L, 101L), heads);
+        assertEquals(101, chainHeadTracker.head("sepolia"));
+    }
+
+    /**
+     * currentHead should fetch once and then serve the head from memory
+     */
+    @Test
+    public void testCurrentHead_FetchesOnce() throws IOException {
+        setupMockBlockNumber(100L);
+
+        assertEquals(100, chainHeadTracker.currentHead("sepolia"));
+        assertEquals(100, chainHeadTracker.currentHead("sepolia"));
+
+        verify(web3j, times(1)).ethBlockNumber();
+    }
+
+    /**
+     * Networks missing from the configuration should never be tracked or polled
+     */
+    @Test
+    public void testHead_IgnoresUnknownNetwork() {
+        assertEquals(-1, chainHeadTracker.head("goerli"));
+        assertEquals(-1, chainHeadTracker.currentHead("goerli"));
+        chainHeadTracker.poll();
+
+        verify(web3jRegistry, never()).get(anyString());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void setupMockBlockNumber(long blockNumber) throws IOException {
+        EthBlockNumber response = mock(EthBlockNumber.class);
+        when(response.getBlockNumber()).thenReturn(BigInteger.valueOf(blockNumber));
+        Request request = mock(Request.class);
+        when(request.send()).thenReturn(response);
+        doReturn(request).when(web3j).ethBlockNumber();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.wallet.infra.eth;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Erc20CodecTest {
+
+    private static final String OWNER = "0x742d35Cc6634C0532925a3b844Bc454e4438f44e";
+    private static final String SPENDER = "0xcA11bde05977b3631167028862bE2a173976CA11";
+
+    /**
+     * Test that the precomputed selectors and call data match web3j's encoding
+     */
+    @Test
+    public void testEncode_MatchesWeb3j() {
+        assertEquals(FunctionEncoder.encode(new Function("balanceOf", List.of(new Address(OWNER)),
+                List.of(new TypeReference<Uint256>() {}))), Erc20Codec.balanceOf(OWNER));
+        assertEquals(FunctionEncoder.encode(new Function("allowance", List.of(new Address(OWNER), new Address(SPENDER)),
+                List.of(new TypeReference<Uint256>() {}))), Erc20Codec.allowance(OWNER, SPENDER));
+        assertEquals(FunctionEncoder.encode(new Function("decimals", List.of(),
+                List.of(new TypeReference<Uint8>() {}))), Erc20Codec.DECIMALS);
+        assertEquals(FunctionEncoder.encode(new Function("symbol", List.of(),
+                List.of(new TypeReference<Utf8String>() {}))), Erc20Codec.SYMBOL);
+        assertEquals(FunctionEncoder.encode(new Function("name", List.of(),
+                List.of(new TypeReference<Utf8String>() {}))), Erc20Codec.NAME);
+    }
+
+    /**
+     * Test that the shared template is not modified between calls
+     */
+    @Test
+    public void testBalanceOf_IndependentCalls() {
+        String first = Erc20Codec.balanceOf(OWNER);
+        Erc20Codec.balanceOf(SPENDER);
+
+        assertEquals(first, Erc20Codec.balanceOf(OWNER));
+        assertTrue(first.endsWith(OWNER.substring(2).toLowerCase()));
+    }
+
+    /**
+     * Test that malformed addresses are rejected rather than encoded
+     */
+    @Test
+    public void testBalanceOf_InvalidAddress() {
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.balanceOf("0x742d35Cc"));
+        assertThrows(IllegalArgumentException.class, () -> Erc20Codec.balanceOf("0x742d35Cc6634C0532925a3b844Bc454e4438f44z"));
+    }
+
+    /**
+     * Test uint256 decoding of small, large and missing values
+     */
+    @Test
+    public void testDecodeUint256() {
+        BigInteger large = new BigInteger("1000000000000000000000000");
+        BigInteger max = BigInteger.TWO.pow(256).subtract(BigInteger.ONE);
+
+        assertEquals(BigInteger.ZERO, Erc20Codec.decodeUint256("0x" + word(BigInteger.ZERO)));
+        assertEquals(BigInteger.valueOf(1_500_000L), Erc20Codec.decodeUint256("0x" + word(BigInteger.valueOf(1_500_000L))));
+        assertEquals(large, Erc20Codec.decodeUint256("0x" + word(large)));
+        assertEquals(max, Erc20Codec.decodeUint256("0x" + word(max)));
+        assertNull(Erc20Codec.decodeUint256("0x"));
+        assertNull(Erc20Codec.decodeUint256(null));
+    }
+
+    /**
+     * Test that decimals outside the uint8 range are treated as undecodable
+     */
+    @Test
+    public void testDecodeUint8() {
+        assertEquals(6, Erc20Codec.decodeUint8("0x" + word(BigInteger.valueOf(6))));
+        assertNull(Erc20Codec.decodeUint8("0x" + word(BigInteger.valueOf(256))));
+        assertNull(Erc20Codec.decodeUint8("0x"));
+    }
+
+    /**
+     * Test decoding of ABI strings, including multi-byte UTF-8 and strings longer than one word
+     */
+    @Test
+    public void testDecodeString() {
+        String longName = "Wrapped liquid staked Ether 2.0 on mainnet";
+
+        assertEquals("Tether USD", Erc20Codec.decodeString(abiString("Tether USD")));
+        assertEquals("Ünï", Erc20Codec.decodeString(abiString("Ünï")));
+        assertEquals(longName, Erc20Codec.decodeString(abiString(longName)));
+        assertEquals("", Erc20Codec.decodeString(abiString("")));
+    }
+
+    /**
+     * Test that bytes32 symbols returned by older tokens are decoded with trailing zeros dropped
+     */
+    @Test
+    public void testDecodeString_Bytes32() {
+        String mkr = HexFormat.of().formatHex("MKR".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("MKR", Erc20Codec.decodeString("0x" + mkr + "0".repeat(64 - mkr.length())));
+    }
+
+    /**
+     * Test that truncated or empty return data decodes to null instead of throwing
+     */
+    @Test
+    public void testDecodeString_Malformed() {
+        String truncated = abiString("Tether USD");
+
+        assertNull(Erc20Codec.decodeString("0x"));
+        assertNull(Erc20Codec.decodeString(truncated.substring(0, truncated.length() - 64)));
+        assertNull(Erc20Codec.decodeString("0x" + word(BigInteger.valueOf(4096)) + word(BigInteger.ONE)));
+    }
+
+    private static String word(BigInteger value) {
+        return String.format("%064x", value);
+    }
+
+    private static String abiString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        String data = HexFormat.of().formatHex(bytes);
+        int padding = (64 - data.length() % 64) % 64;
+        return "0x" + word(BigInteger.valueOf(32)) + word(BigInteger.valueOf(bytes.length)) + data + "0".repeat(padding);
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.wallet.infra.eth;
 
+import com.example.wallet.config.CacheProperties;
 import com.example.wallet.config.IAppProperties;
 import com.example.wallet.domain.eth.GasFeeSuggestion;
+import com.example.wallet.domain.eth.PortfolioResponse;
+import com.example.wallet.domain.eth.TokenBalanceResponse;
+import com.example.wallet.domain.eth.TokenMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,13 +14,19 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthChainId;
+import org.web3j.protocol.core.methods.response.EthFeeHistory;
 import org.web3j.protocol.core.methods.response.EthGasPrice;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +36,8 @@ import static org.mockito.Mockito.*;
 public class EthClientTest {
 
     private EthClient ethClient;
+    
+    private TokenMetadataCache tokenMetadataCache;
 
     @Mock
     private IAppProperties appProperties;
@@ -47,10 +60,12 @@ public class EthClientTest {
         when(appProperties.getRpc()).thenReturn(rpc);
         when(rpc.getEth()).thenReturn(ethNetworks);
         
+        tokenMetadataCache = new TokenMetadataCache(new CacheProperties(), new SimpleMeterRegistry());
+        
         // Create EthClient with constructor injection of mocked web3j
-        ethClient = spy(new EthClient(appProperties) {
+        ethClient = spy(new EthClient(appProperties, null, tokenMetadataCache) {
             @Override
-            protected Web3j createWeb3j(String rpcUrl) {
+            protected Web3j web3j(String network) {
                 return web3j; // Return our mocked web3j instance
             }
         });
@@ -195,6 +210,45 @@ public class EthClientTest {
         assertEquals("Unsupported ETH network: unknown-network", exception.getMessage());
     }
     
+    /**
+     * Test fee tiers built from fee history percentiles
+     */
+    @Test
+    public void testGetFeeHistorySuggestion_Tiers() throws IOException {
+        setupMockFeeHistory(List.of(gwei(10), gwei(12)), List.of(
+                List.of(gwei(1), gwei(2), gwei(3), gwei(5)),
+                List.of(gwei(1), gwei(2), gwei(4), gwei(6)),
+                List.of(gwei(2), gwei(3), gwei(3), gwei(8))));
+        
+        GasFeeSuggestion suggestion = ethClient.getFeeHistorySuggestion("mainnet");
+        
+        // Next block base fee with per-tier headroom plus the median reward of each percentile
+        assertEquals("12.0000", suggestion.getBaseFee());
+        assertEquals("14.2000", suggestion.getSlow().getMaxFee());
+        assertEquals("1.0000", suggestion.getSlow().getMaxPriorityFee());
+        assertEquals("17.0000", suggestion.getAverage().getMaxFee());
+        assertEquals("2.0000", suggestion.getAverage().getMaxPriorityFee());
+        assertEquals("21.0000", suggestion.getFast().getMaxFee());
+        assertEquals("3.0000", suggestion.getFast().getMaxPriorityFee());
+        assertEquals("30.0000", suggestion.getFastest().getMaxFee());
+        assertEquals("6.0000", suggestion.getFastest().getMaxPriorityFee());
+        verify(web3j, never()).ethGasPrice();
+    }
+    
+    /**
+     * Test fallback to the gas price when the network reports no base fees
+     */
+    @Test
+    public void testGetFeeHistorySuggestion_FallbackToGasPrice() throws IOException {
+        setupMockFeeHistory(List.of(), List.of());
+        setupMockGasPrice(BigInteger.valueOf(20_000_000_000L));
+        
+        GasFeeSuggestion suggestion = ethClient.getFeeHistorySuggestion("mainnet");
+        
+        assertEquals("20.0000", suggestion.getBaseFee());
+        assertEquals("24.0000", suggestion.getAverage().getMaxFee());
+    }
+    
     /**
      * Test getting chain ID for Ethereum mainnet
      */
@@ -239,6 +293,26 @@ public class EthClientTest {
         assertEquals(11155111L, chainId);
     }
     
+    /**
+     * Test that the chain ID is fetched once and then served from memory
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"}) // Suppress raw type warnings
+    @Test
+    public void testGetChainId_PinnedAfterFirstCall() throws IOException {
+        EthChainId mockChainId = mock(EthChainId.class);
+        when(mockChainId.getChainId()).thenReturn(BigInteger.valueOf(11155111L));
+        when(mockChainId.hasError()).thenReturn(false);
+        
+        Request mockRequest = mock(Request.class);
+        when(mockRequest.send()).thenReturn(mockChainId);
+        doReturn(mockRequest).when(web3j).ethChainId();
+        
+        assertEquals(11155111L, ethClient.getChainId("sepolia"));
+        assertEquals(11155111L, ethClient.getChainId("sepolia"));
+        
+        verify(web3j, times(1)).ethChainId();
+    }
+    
     /**
      * Test error handling when network is not found
      */
@@ -290,6 +364,210 @@ public class EthClientTest {
         assertTrue(exception.getMessage().contains("Error fetching chain ID"));
     }
     
+    /**
+     * Test that token balance and metadata are fetched with one batch and matched by request id
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"}) // Suppress raw type warnings
+    @Test
+    public void testGetTokenBalance_SingleBatch() throws IOException {
+        Request balanceRequest = new Request<>("eth_call", List.of(), null, EthCall.class);
+        Request decimalsRequest = new Request<>("eth_call", List.of(), null, EthCall.class);
+        Request symbolRequest = new Request<>("eth_call", List.of(), null, EthCall.class);
+        Request nameRequest = new Request<>("eth_call", List.of(), null, EthCall.class);
+        doReturn(balanceRequest, decimalsRequest, symbolRequest, nameRequest).when(web3j).ethCall(any(), any());
+        
+        // Node answers the batch out of order
+        List responses = List.of(
+            ethCallResult(nameRequest.getId(), abiString("Tether USD")),
+            ethCallResult(balanceRequest.getId(), "0x" + abiWord(BigInteger.valueOf(1_500_000L))),
+            ethCallResult(symbolRequest.getId(), abiString("USDT")),
+            ethCallResult(decimalsRequest.getId(), "0x" + abiWord(BigInteger.valueOf(6L)))
+        );
+        BatchRequest batchRequest = mock(BatchRequest.class);
+        BatchResponse batchResponse = mock(BatchResponse.class);
+        doReturn(batchRequest).when(web3j).newBatch();
+        doReturn(batchResponse).when(batchRequest).send();
+        doReturn(responses).when(batchResponse).getResponses();
+        
+        TokenBalanceResponse response = ethClient.getTokenBalance("mainnet",
+            "0xdAC17F958D2ee523a2206206994597C13D831ec7", "0x742d35Cc6634C0532925a3b844Bc454e4438f44e");
+        
+        assertEquals("0x" + Long.toHexString(1_500_000L), response.getBalance());
+        assertEquals("6", response.getDecimals());
+        assertEquals("USDT", response.getSymbol());
+        assertEquals("Tether USD", response.getName());
+        verify(batchRequest, times(4)).add(any());
+        verify(batchRequest, times(1)).send();
+    }
+    
+    /**
+     * Test that a failed balanceOf call in the batch surfaces as an error
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"}) // Suppress raw type warnings
+    @Test
+    public void testGetTokenBalance_BalanceCallError() throws IOException {
+        Request balanceRequest = new Request<>("eth_call", List.of(), null, EthCall.class);
+        doReturn(balanceRequest).when(web3j).ethCall(any(), any());
+        
+        EthCall failed = new EthCall();
+        failed.setId(balanceRequest.getId());
+        failed.setError(new org.web3j.protocol.core.Response.Error(3, "execution reverted"));
+        BatchRequest batchRequest = mock(BatchRequest.class);
+        BatchResponse batchResponse = mock(BatchResponse.class);
+        doReturn(batchRequest).when(web3j).newBatch();
+        doReturn(batchResponse).when(batchRequest).send();
+        doReturn(List.of(failed)).when(batchResponse).getResponses();
+        
+        Exception exception = assertThrows(RuntimeException.class, () -> ethClient.getTokenBalance("mainnet",
+            "0xdAC17F958D2ee523a2206206994597C13D831ec7", "0x742d35Cc6634C0532925a3b844Bc454e4438f44e"));
+        
+        assertTrue(exception.getMessage().contains("execution reverted"));
+    }
+    
+    /**
+     * Test that cached token metadata reduces a token balance lookup to a single balanceOf call
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"}) // Suppress raw type warnings
+    @Test
+    public void testGetTokenBalance_CachedMetadata() throws IOException {
+        String tokenAddress = "0xdAC17F958D2ee523a2206206994597C13D831ec7";
+        tokenMetadataCache.put("mainnet", tokenAddress.toLowerCase(), new TokenMetadata("Tether USD", "USDT", "6"));
+        
+        Request mockRequest = mock(Request.class);
+        when(mockRequest.send()).thenReturn(ethCallResult(1L, "0x" + abiWord(BigInteger.valueOf(42L))));
+        doReturn(mockRequest).when(web3j).ethCall(any(), any());
+        
+        TokenBalanceResponse response = ethClient.getTokenBalance("mainnet",
+            tokenAddress, "0x742d35Cc6634C0532925a3b844Bc454e4438f44e");
+        
+        assertEquals("0x2a", response.getBalance());
+        assertEquals("USDT", response.getSymbol());
+        assertEquals("Tether USD", response.getName());
+        assertEquals("6", response.getDecimals());
+        verify(web3j, times(1)).ethCall(any(), any());
+        verify(web3j, never()).newBatch();
+    }
+    
+    /**
+     * Test that portfolio results are matched back to their tokens when cached and uncached tokens are mixed
+     * and some balanceOf and metadata calls fail
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"}) // Suppress raw type warnings
+    @Test
+    public void testGetPortfolio_MixedCachedAndFailedCalls() throws IOException {
+        String owner = "0x742d35Cc6634C0532925a3b844Bc454e4438f44e";
+        String cachedToken = "0xdac17f958d2ee523a2206206994597c13d831ec7";
+        String newToken = "0xa0b86991c6218b36c1d19d4a2e9eb0ce3606eb48";
+        String brokenToken = "0x6b175474e89094c44da98b954eedeac495271d0f";
+        String lastToken = "0x2260fac5e5542a773aa44fbcfedf7c193bc2c599";
+        tokenMetadataCache.put("mainnet", cachedToken, new TokenMetadata("Tether USD", "USDT", "6"));
+        tokenMetadataCache.put("mainnet", lastToken, new TokenMetadata("Wrapped BTC", "WBTC", "8"));
+        
+        // ETH balance, then balanceOf per token, with decimals, symbol and name after each uncached token
+        String aggregate = aggregate3Result(List.of(
+            "0x" + abiWord(BigInteger.TEN.pow(18)),              // ETH balance
+            "0x" + abiWord(BigInteger.valueOf(100L)),            // cachedToken balanceOf
+            "0x" + abiWord(BigInteger.valueOf(200L)),            // newToken balanceOf
+            "0x" + abiWord(BigInteger.valueOf(18L)),             // newToken decimals
+            abiString("DAI"),                                    // newToken symbol
+            abiString("Dai Stablecoin"),                         // newToken name
+            "",                                                  // brokenToken balanceOf reverts
+            "0x" + abiWord(BigInteger.valueOf(9L)),              // brokenToken decimals
+            "",                                                  // brokenToken symbol reverts
+            abiString("Broken"),                                 // brokenToken name
+            "0x" + abiWord(BigInteger.valueOf(300L))             // lastToken balanceOf
+        ));
+        Request mockRequest = mock(Request.class);
+        when(mockRequest.send()).thenReturn(ethCallResult(1L, aggregate));
+        doReturn(mockRequest).when(web3j).ethCall(any(), any());
+        
+        PortfolioResponse portfolio = ethClient.getPortfolio("mainnet", owner,
+            List.of(cachedToken, newToken, brokenToken, lastToken));
+        
+        assertEquals("0xde0b6b3a7640000", portfolio.ethBalance());
+        List<TokenBalanceResponse> tokens = portfolio.tokens();
+        assertEquals(4, tokens.size());
+        assertToken(tokens.get(0), cachedToken, "0x64", "USDT", "Tether USD", "6");
+        assertToken(tokens.get(1), newToken, "0xc8", "DAI", "Dai Stablecoin", "18");
+        // Failed calls fall back to no balance and default metadata, without shifting later tokens
+        assertToken(tokens.get(2), brokenToken, null, "", "Broken", "9");
+        assertToken(tokens.get(3), lastToken, "0x12c", "WBTC", "Wrapped BTC", "8");
+        verify(web3j, times(1)).ethCall(any(), any());
+        // Complete metadata is cached, metadata with a failed call is not
+        assertEquals("DAI", tokenMetadataCache.get("mainnet", newToken).symbol());
+        assertNull(tokenMetadataCache.get("mainnet", brokenToken));
+    }
+    
+    private void assertToken(TokenBalanceResponse token, String address, String balance, String symbol,
+                             String name, String decimals) {
+        assertEquals(address, token.getTokenAddress());
+        assertEquals(balance, token.getBalance());
+        assertEquals(symbol, token.getSymbol());
+        assertEquals(name, token.getName());
+        assertEquals(decimals, token.getDecimals());
+    }
+    
+    /**
+     * Encode an aggregate3 (bool success, bytes returnData)[] result; an empty string marks a failed call
+     */
+    private String aggregate3Result(List<String> returnData) {
+        StringBuilder offsets = new StringBuilder();
+        StringBuilder tuples = new StringBuilder();
+        long offset = returnData.size() * 32L;
+        for (String data : returnData) {
+            String hex = data.isEmpty() ? "" : data.substring(2);
+            String tuple = abiWord(data.isEmpty() ? BigInteger.ZERO : BigInteger.ONE)
+                + abiWord(BigInteger.valueOf(64))
+                + abiWord(BigInteger.valueOf(hex.length() / 2))
+                + hex + "0".repeat((64 - hex.length() % 64) % 64);
+            offsets.append(abiWord(BigInteger.valueOf(offset)));
+            tuples.append(tuple);
+            offset += tuple.length() / 2;
+        }
+        return "0x" + abiWord(BigInteger.valueOf(32)) + abiWord(BigInteger.valueOf(returnData.size())) + offsets + tuples;
+    }
+    
+    // Helper methods to build ABI-encoded eth_call results
+    private EthCall ethCallResult(long id, String value) {
+        EthCall call = new EthCall();
+        call.setId(id);
+        call.setResult(value);
+        return call;
+    }
+    
+    private String abiWord(BigInteger value) {
+        return String.format("%064x", value);
+    }
+    
+    private String abiString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        StringBuilder data = new StringBuilder();
+        for (byte b : bytes) {
+            data.append(String.format("%02x", b));
+        }
+        while (data.length() % 64 != 0) {
+            data.append('0');
+        }
+        return "0x" + abiWord(BigInteger.valueOf(32)) + abiWord(BigInteger.valueOf(bytes.length)) + data;
+    }
+    
+    private BigInteger gwei(long value) {
+        return BigInteger.valueOf(value).multiply(BigInteger.TEN.pow(9));
+    }
+    
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void setupMockFeeHistory(List<BigInteger> baseFees, List<List<BigInteger>> rewards) throws IOException {
+        EthFeeHistory.FeeHistory feeHistory = mock(EthFeeHistory.FeeHistory.class);
+        when(feeHistory.getBaseFeePerGas()).thenReturn(baseFees);
+        when(feeHistory.getReward()).thenReturn(rewards);
+        EthFeeHistory response = mock(EthFeeHistory.class);
+        when(response.getFeeHistory()).thenReturn(feeHistory);
+        
+        Request mockRequest = mock(Request.class);
+        when(mockRequest.send()).thenReturn(response);
+        doReturn(mockRequest).when(web3j).ethFeeHistory(anyInt(), any(), anyList());
+    }
+    
     // Helper method to setup mock gas price response
     @SuppressWarnings({"rawtypes", "unchecked"}) // Suppress raw type warnings
     private void setupMockGasPrice(BigInteger gasPrice) throws IOException {
@@ -0,0 +1,69 @@
+package com.example.wallet.infra.eth;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Multicall3Test {
+
+    private static final String OWNER = "742d35cc6634c0532925a3b844bc454e4438f44e";
+
+    /**
+     * Test aggregate3 encoding of a single call against the ABI layout
+     */
+    @Test
+    public void testEncodeAggregate3_SingleCall() {
+        String callData = "0x4d2301cc" + word(OWNER);
+
+        String encoded = Multicall3.encodeAggregate3(List.of(new Multicall3.Call(Multicall3.ADDRESS, callData)));
+
+        String expected = "0x82ad56cb"
+            + word("20")                                           // offset of the array
+            + word("1")                                            // array length
+            + word("20")                                           // offset of tuple 0
+            + word("ca11bde05977b3631167028862be2a173976ca11")     // target
+            + word("1")                                            // allowFailure
+            + word("60")                                           // offset of callData in the tuple
+            + word("24")                                           // callData length (36 bytes)
+            + callData.substring(2) + "0".repeat(56);              // callData padded to 64 bytes
+        assertEquals(expected, encoded);
+    }
+
+    /**
+     * Test decoding of successful and failed results
+     */
+    @Test
+    public void testDecodeAggregate3_MixedResults() {
+        String returnValue = "0x"
+            + word("20")            // offset of the array
+            + word("2")             // array length
+            + word("40")            // offset of tuple 0
+            + word("c0")            // offset of tuple 1
+            + word("1") + word("40") + word("20") + word("5")   // (true, uint256 5)
+            + word("0") + word("40") + word("0");               // (false, empty)
+
+        List<Multicall3.Result> results = Multicall3.decodeAggregate3(returnValue);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).success());
+        assertEquals(BigInteger.valueOf(5), Erc20Codec.decodeUint256(results.get(0).returnData()));
+        assertFalse(results.get(1).success());
+        assertEquals("0x", results.get(1).returnData());
+        assertNull(Erc20Codec.decodeUint256(results.get(1).returnData()));
+    }
+
+    /**
+     * Test getEthBalance call data against the ABI layout
+     */
+    @Test
+    public void testGetEthBalance() {
+        assertEquals("0x4d2301cc" + word(OWNER), Multicall3.getEthBalance("0x742d35Cc6634C0532925a3b844Bc454e4438f44e"));
+    }
+
+    private static String word(String hex) {
+        return "0".repeat(64 - hex.length()) + hex;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.config.UpstreamProperties;
+import com.example.wallet.infra.upstream.UpstreamRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutingWeb3jServiceTest {
+
+    private StubJsonRpcServer first;
+    private StubJsonRpcServer second;
+    private UpstreamProperties properties;
+    private UpstreamRouter router;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        first = stub();
+        second = stub();
+        properties = new UpstreamProperties();
+        properties.setFailureThreshold(1);
+        router = new UpstreamRouter(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        first.close();
+        second.close();
+        router.close();
+    }
+
+    /**
+     * Reads should fail over to a healthy endpoint when one returns server errors
+     */
+    @Test
+    public void testRead_FailsOverOnServerError() throws IOException {
+        first.setFailureStatus(503);
+        Web3j web3j = Web3j.build(service());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BigInteger.valueOf(100), web3j.ethBlockNumber().send().getBlockNumber());
+        }
+
+        // The failing endpoint's circuit opened after its first error
+        assertEquals(1, first.calls("eth_blockNumber"));
+        assertEquals(3, second.calls("eth_blockNumber"));
+    }
+
+    /**
+     * Raw transactions and nonce lookups should stay on the endpoint that last accepted a write
+     */
+    @Test
+    public void testWrite_IsSticky() throws IOException {
+        RoutingWeb3jService service = service();
+        Web3j web3j = Web3j.build(service);
+        first.setFailureStatus(503);
+
+        web3j.ethSendRawTransaction("0x01").send();
+        first.setFailureStatus(0);
+        web3j.ethSendRawTransaction("0x02").send();
+        web3j.ethGetTransactionCount("0xabc", DefaultBlockParameterName.PENDING).send();
+
+        assertEquals(2, second.calls("eth_sendRawTransaction"));
+        assertEquals(1, second.calls("eth_getTransactionCount"));
+        assertEquals(0, first.calls("eth_getTransactionCount"));
+        assertSame(service.endpoints().get(1), service.stickyEndpoint());
+    }
+
+    /**
+     * With hedging on, a slow endpoint should be raced by the other one
+     */
+    @Test
+    public void testRead_HedgesSlowEndpoint() throws IOException {
+        properties.setHedgeEnabled(true);
+        properties.setHedgeDefaultDelayMs(50);
+        first.setDelayMs(2_000);
+        Web3j web3j = Web3j.build(service());
+
+        long start = System.nanoTime();
+        assertEquals(BigInteger.valueOf(100), web3j.ethBlockNumber().send().getBlockNumber());
+
+        assertTrue(System.nanoTime() - start < 1_500_000_000L);
+        assertEquals(1, second.calls("eth_blockNumber"));
+    }
+
+    /**
+     * Rate-limit replies should count as failures and move on to the next endpoint
+     */
+    @Test
+    public void testRead_FailsOverOnRateLimit() throws IOException {
+        first.respondError("eth_blockNumber", -32005, "limit exceeded");
+        second.respond("eth_blockNumber", "0x65");
+        Web3j web3j = Web3j.build(service());
+
+        assertEquals(BigInteger.valueOf(101), web3j.ethBlockNumber().send().getBlockNumber());
+        assertEquals(1, first.calls("eth_blockNumber"));
+    }
+
+    /**
+     * An endpoint reporting another chain ID should be evicted so reads no longer reach it
+     */
+    @Test
+    public void testVerifyChainId_EvictsMismatchedEndpoint() throws IOException {
+        first.respond("eth_chainId", "0xaa36a7");
+        second.respond("eth_chainId", "0x1");
+        RoutingWeb3jService service = service();
+        Web3j web3j = Web3j.build(service);
+
+        assertEquals(11155111L, service.verifyChainId());
+        for (int i = 0; i < 3; i++) {
+            web3j.ethBlockNumber().send();
+        }
+
+        assertEquals(List.of("first"), service.endpoints().stream().map(RoutingWeb3jService.Endpoint::name).toList());
+        assertEquals(0, second.calls("eth_blockNumber"));
+    }
+
+    /**
+     * An endpoint that cannot be reached should stay in the pool, since it may only be down for a moment
+     */
+    @Test
+    public void testVerifyChainId_KeepsUnreachableEndpoint() throws IOException {
+        first.setFailureStatus(503);
+        second.respond("eth_chainId", "0xaa36a7");
+        RoutingWeb3jService service = service();
+
+        assertEquals(11155111L, service.verifyChainId());
+        assertEquals(2, service.endpoints().size());
+    }
+
+    private RoutingWeb3jService service() {
+        return new RoutingWeb3jService("test", List.of(
+                new RoutingWeb3jService.Endpoint("first", new HttpService(first.url()), router.newHealth()),
+                new RoutingWeb3jService.Endpoint("second", new HttpService(second.url()), router.newHealth())
+        ), router);
+    }
+
+    private static StubJsonRpcServer stub() throws IOException {
+        return new StubJsonRpcServer()
+                .respond("eth_blockNumber", "0x64")
+                .respond("eth_sendRawTransaction", "0x" + "ab".repeat(32))
+                .respond("eth_getTransactionCount", "0x5");
+    }
+}
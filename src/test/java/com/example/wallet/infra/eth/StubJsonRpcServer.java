@@ -0,0 +1,153 @@
+package com.example.wallet.infra.eth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Minimal JSON-RPC server on the JDK HTTP server for exercising RPC routing locally
+ * Answers configured methods (single and batch requests), and can be made slow or failing
+ */
+public class StubJsonRpcServer implements AutoCloseable {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final Map<String, Function<JsonNode, Object>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, RpcError> errors = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private volatile long delayMs;
+    private volatile int failureStatus;
+    private volatile double errorRate;
+
+    public StubJsonRpcServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Answer a method with a fixed result
+     */
+    public StubJsonRpcServer respond(String method, Object result) {
+        return respond(method, params -> result);
+    }
+
+    /**
+     * Answer a method with a result computed from its params
+     */
+    public StubJsonRpcServer respond(String method, Function<JsonNode, Object> handler) {
+        handlers.put(method, handler);
+        return this;
+    }
+
+    /**
+     * Answer a method with a JSON-RPC error
+     */
+    public StubJsonRpcServer respondError(String method, int code, String message) {
+        errors.put(method, new RpcError(code, message));
+        return this;
+    }
+
+    /**
+     * Delay every response
+     */
+    public void setDelayMs(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    /**
+     * Answer every request with this HTTP status, or 0 to answer normally
+     */
+    public void setFailureStatus(int failureStatus) {
+        this.failureStatus = failureStatus;
+    }
+
+    /**
+     * Answer this fraction of requests with HTTP 503, picked at random
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public int calls(String method) {
+        AtomicInteger count = calls.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            for (JsonNode request : body.isArray() ? body : objectMapper.createArrayNode().add(body)) {
+                calls.computeIfAbsent(request.path("method").asText(), k -> new AtomicInteger()).incrementAndGet();
+            }
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            if (failureStatus != 0) {
+                exchange.sendResponseHeaders(failureStatus, -1);
+                return;
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            JsonNode response;
+            if (body.isArray()) {
+                ArrayNode responses = objectMapper.createArrayNode();
+                body.forEach(request -> responses.add(answer(request)));
+                response = responses;
+            } else {
+                response = answer(body);
+            }
+            byte[] bytes = objectMapper.writeValueAsBytes(response);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ObjectNode answer(JsonNode request) {
+        String method = request.path("method").asText();
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", request.get("id"));
+        Function<JsonNode, Object> handler = handlers.get(method);
+        RpcError rpcError = errors.get(method);
+        if (rpcError != null || handler == null) {
+            ObjectNode error = response.putObject("error");
+            error.put("code", rpcError != null ? rpcError.code() : -32601);
+            error.put("message", rpcError != null ? rpcError.message() : "Method not found: " + method);
+        } else {
+            response.set("result", objectMapper.valueToTree(handler.apply(request.path("params"))));
+        }
+        return response;
+    }
+
+    private record RpcError(int code, String message) {}
+}
@@ -0,0 +1,52 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.domain.eth.TokenMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenMetadataCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Lookups should ignore the case of the contract address
+     */
+    @Test
+    public void testGet_CaseInsensitiveAddress() {
+        TokenMetadataCache cache = new TokenMetadataCache(new CacheProperties(), new SimpleMeterRegistry());
+        cache.put("mainnet", "0xdAC17F958D2ee523a2206206994597C13D831ec7", new TokenMetadata("Tether USD", "USDT", "6"));
+
+        assertEquals("USDT", cache.get("mainnet", "0xdac17f958d2ee523a2206206994597c13d831ec7").symbol());
+        assertNull(cache.get("sepolia", "0xdac17f958d2ee523a2206206994597c13d831ec7"));
+    }
+
+    /**
+     * Entries saved on shutdown should be loaded again on startup
+     */
+    @Test
+    public void testSaveAndLoad_PersistsEntries() {
+        CacheProperties properties = new CacheProperties();
+        properties.getTokenMetadata().setPersistPath(tempDir.resolve("tokens.json").toString());
+
+        TokenMetadataCache first = new TokenMetadataCache(properties, new SimpleMeterRegistry());
+        first.put("sepolia", "0x84637EaB3d14d481E7242D124e5567B72213D7F2", new TokenMetadata("Test Token", "TST", "18"));
+        first.save();
+        assertTrue(Files.exists(tempDir.resolve("tokens.json")));
+
+        TokenMetadataCache second = new TokenMetadataCache(properties, new SimpleMeterRegistry());
+        second.load();
+
+        TokenMetadata metadata = second.get("sepolia", "0x84637EaB3d14d481E7242D124e5567B72213D7F2");
+        assertNotNull(metadata);
+        assertEquals("Test Token", metadata.name());
+        assertEquals("18", metadata.decimals());
+    }
+}
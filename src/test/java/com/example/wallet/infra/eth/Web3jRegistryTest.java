@@ -0,0 +1,132 @@
+package com.example.wallet.infra.eth;
+
+import com.example.wallet.config.IAppProperties;
+import com.example.wallet.config.UpstreamProperties;
+import com.example.wallet.config.Web3jProperties;
+import com.example.wallet.infra.upstream.UpstreamMetrics;
+import com.example.wallet.infra.upstream.UpstreamRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class Web3jRegistryTest {
+
+    private Web3jRegistry registry;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamRouter router;
+
+    @BeforeEach
+    public void setUp() {
+        IAppProperties appProperties = mock(IAppProperties.class);
+        IAppProperties.Rpc rpc = mock(IAppProperties.Rpc.class);
+        when(appProperties.getRpc()).thenReturn(rpc);
+        when(rpc.getEth()).thenReturn(Map.of(
+            "mainnet", "https://eth-mainnet.example.com",
+            "sepolia", "https://eth-sepolia.example.com",
+            "holesky", "https://a.example.com, https://b.example.com"
+        ));
+
+        meterRegistry = new SimpleMeterRegistry();
+        router = new UpstreamRouter(new UpstreamProperties(), meterRegistry);
+        registry = new Web3jRegistry(appProperties, new Web3jProperties(), meterRegistry, router,
+                new UpstreamMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        registry.close();
+        router.close();
+    }
+
+    /**
+     * The same client instance should be reused for every call on a network
+     */
+    @Test
+    public void testGet_ReusesClientPerNetwork() {
+        Web3j first = registry.get("mainnet");
+        Web3j second = registry.get("mainnet");
+        Web3j other = registry.get("sepolia");
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    /**
+     * Unknown networks should be rejected without creating a client
+     */
+    @Test
+    public void testGet_UnsupportedNetwork() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> registry.get("unknown-network"));
+
+        assertEquals("Unsupported ETH network: unknown-network", exception.getMessage());
+        assertNull(meterRegistry.find("wallet.web3j.pool.connections").tag("network", "unknown-network").gauge());
+    }
+
+    /**
+     * Pool gauges should be registered once a client is created
+     */
+    @Test
+    public void testGet_RegistersPoolMetrics() {
+        registry.get("sepolia");
+
+        assertNotNull(meterRegistry.find("wallet.web3j.pool.connections").tag("network", "sepolia").gauge());
+        assertNotNull(meterRegistry.find("wallet.web3j.pool.idle").tag("network", "sepolia").gauge());
+        assertNotNull(meterRegistry.find("wallet.web3j.calls.running").tag("network", "sepolia").gauge());
+        assertEquals(0.0, meterRegistry.find("wallet.web3j.pool.connections").tag("network", "sepolia").gauge().value());
+    }
+
+    /**
+     * A comma-separated URL list should produce a client routing across every endpoint
+     */
+    @Test
+    public void testGet_MultipleEndpoints() {
+        Web3j web3j = registry.get("holesky");
+
+        assertNotNull(web3j);
+        assertEquals(1, meterRegistry.find("wallet.web3j.pool.connections").tag("network", "holesky").gauges().size());
+    }
+
+    /**
+     * RPC calls should be timed per method and provider host, and batches should record their size
+     */
+    @Test
+    public void testGet_TimesRpcCalls() throws Exception {
+        try (StubJsonRpcServer server = new StubJsonRpcServer()) {
+            server.respond("eth_getBalance", "0x1").respondError("eth_chainId", -32000, "unavailable");
+            IAppProperties appProperties = mock(IAppProperties.class);
+            IAppProperties.Rpc rpc = mock(IAppProperties.Rpc.class);
+            when(appProperties.getRpc()).thenReturn(rpc);
+            when(rpc.getEth()).thenReturn(Map.of("local", server.url()));
+            Web3jRegistry local = new Web3jRegistry(appProperties, new Web3jProperties(), meterRegistry, router,
+                    new UpstreamMetrics(meterRegistry));
+            try {
+                Web3j web3j = local.get("local");
+                assertEquals(BigInteger.ONE, web3j.ethGetBalance("0x0", DefaultBlockParameterName.LATEST).send().getBalance());
+                assertTrue(web3j.ethChainId().send().hasError());
+                web3j.newBatch()
+                        .add(web3j.ethGetBalance("0x1", DefaultBlockParameterName.LATEST))
+                        .add(web3j.ethGetBalance("0x2", DefaultBlockParameterName.LATEST))
+                        .send();
+
+                assertEquals(1, meterRegistry.get("wallet.upstream.requests").tags("chain", "eth", "network", "local",
+                        "provider", "127.0.0.1", "operation", "eth_getBalance", "outcome", "success").timer().count());
+                assertEquals(1, meterRegistry.get("wallet.upstream.requests")
+                        .tags("operation", "eth_chainId", "outcome", "rpc_error").timer().count());
+                assertEquals(1, meterRegistry.get("wallet.upstream.requests").tag("operation", "batch").timer().count());
+                assertEquals(2, meterRegistry.get("wallet.upstream.batch.size").tag("network", "local").summary().totalAmount());
+            } finally {
+                local.close();
+            }
+        }
+    }
+}
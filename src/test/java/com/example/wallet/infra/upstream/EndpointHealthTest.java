@@ -0,0 +1,62 @@
+package com.example.wallet.infra.upstream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointHealthTest {
+
+    /**
+     * The circuit should open after consecutive failures and let a single probe through once it expires
+     */
+    @Test
+    public void testCircuit_OpensAndProbes() throws InterruptedException {
+        EndpointHealth health = new EndpointHealth(2, 20);
+
+        health.recordFailure(1_000);
+        assertTrue(health.tryAcquire());
+        health.recordFailure(1_000);
+        assertEquals(EndpointHealth.State.OPEN, health.state());
+        assertFalse(health.tryAcquire());
+
+        Thread.sleep(30);
+        assertEquals(EndpointHealth.State.HALF_OPEN, health.state());
+        assertTrue(health.tryAcquire());
+        assertFalse(health.tryAcquire(), "only one probe at a time");
+
+        health.recordSuccess(1_000);
+        assertEquals(EndpointHealth.State.CLOSED, health.state());
+        assertTrue(health.tryAcquire());
+    }
+
+    /**
+     * A failed probe should re-open the circuit straight away
+     */
+    @Test
+    public void testCircuit_FailedProbeReopens() throws InterruptedException {
+        EndpointHealth health = new EndpointHealth(1, 20);
+        health.recordFailure(1_000);
+
+        Thread.sleep(30);
+        assertTrue(health.tryAcquire());
+        health.recordFailure(1_000);
+
+        assertEquals(EndpointHealth.State.OPEN, health.state());
+    }
+
+    /**
+     * p95 should be unknown until enough samples are recorded and then track the latency tail
+     */
+    @Test
+    public void testP95() {
+        EndpointHealth health = new EndpointHealth(3, 1_000);
+        assertEquals(-1, health.p95Nanos());
+
+        for (int i = 1; i <= 100; i++) {
+            health.recordSuccess(i * 1_000L);
+        }
+
+        assertEquals(95_000, health.p95Nanos());
+        assertTrue(health.score() > 0);
+    }
+}
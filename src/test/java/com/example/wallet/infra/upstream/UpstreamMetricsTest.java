@@ -0,0 +1,88 @@
+package com.example.wallet.infra.upstream;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new UpstreamMetrics(meterRegistry);
+    }
+
+    /**
+     * Successful and failing calls should be timed under their own outcome tags
+     */
+    @Test
+    public void testRecord_TagsOutcome() {
+        assertEquals("ok", metrics.record("btc", "mainnet", "blockstream.info", "/address/{address}", () -> "ok"));
+        assertThrows(IllegalStateException.class, () -> metrics.record("btc", "mainnet", "blockstream.info",
+                "/address/{address}", () -> {
+                    throw new IllegalStateException("down");
+                }));
+        assertThrows(HttpClientErrorException.class, () -> metrics.record("btc", "mainnet", "blockstream.info",
+                "/address/{address}", () -> {
+                    throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+                }));
+        assertThrows(HttpClientErrorException.class, () -> metrics.record("btc", "mainnet", "blockstream.info",
+                "/address/{address}", () -> {
+                    throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+                }));
+
+        assertEquals(1, timer("success").count());
+        assertEquals(1, timer("client_error").count());
+        // Rate limiting is the provider's problem, not the request's
+        assertEquals(2, timer("error").count());
+    }
+
+    /**
+     * Repeated calls should reuse one timer per tag combination
+     */
+    @Test
+    public void testRecord_ReusesTimer() {
+        for (int i = 0; i < 3; i++) {
+            metrics.record("eth", "mainnet", "eth.blockscout.com", "/api/v2/tokens", () -> null);
+        }
+
+        assertEquals(1, meterRegistry.find("wallet.upstream.requests").timers().size());
+        assertEquals(3, meterRegistry.get("wallet.upstream.requests").tag("operation", "/api/v2/tokens").timer().count());
+    }
+
+    /**
+     * Batch sizes should be summarized per provider
+     */
+    @Test
+    public void testRecordBatchSize() {
+        metrics.recordBatchSize("eth", "mainnet", "rpc.example.com", 100);
+        metrics.recordBatchSize("eth", "mainnet", "rpc.example.com", 20);
+
+        var summary = meterRegistry.get("wallet.upstream.batch.size").tag("provider", "rpc.example.com").summary();
+        assertEquals(2, summary.count());
+        assertEquals(120, summary.totalAmount());
+        assertEquals(100, summary.max());
+    }
+
+    /**
+     * The provider tag should be the host of the base URL, never the full URL
+     */
+    @Test
+    public void testHost() {
+        assertEquals("blockstream.info", metrics.host("https://blockstream.info/testnet/api"));
+        assertEquals("127.0.0.1", metrics.host(" http://127.0.0.1:8545 "));
+        assertEquals("unknown", metrics.host("not a url"));
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry.get("wallet.upstream.requests").tag("outcome", outcome).timer();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.wallet.infra.upstream;
+
+import com.example.wallet.config.UpstreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamRouterTest {
+
+    private UpstreamProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamRouter router;
+
+    record Endpoint(String name, EndpointHealth health) implements Upstream {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        properties = new UpstreamProperties();
+        properties.setFailureThreshold(1);
+        meterRegistry = new SimpleMeterRegistry();
+        router = new UpstreamRouter(properties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        router.close();
+    }
+
+    /**
+     * A failing upstream should be failed over and then skipped while its circuit is open
+     */
+    @Test
+    public void testExecute_FailsOverAndSkipsOpenCircuit() {
+        Endpoint a = new Endpoint("a", router.newHealth());
+        Endpoint b = new Endpoint("b", router.newHealth());
+        List<String> calls = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            String result = router.execute("test", List.of(a, b), false, endpoint -> {
+                calls.add(endpoint.name());
+                if (endpoint == a) {
+                    throw new IllegalStateException("down");
+                }
+                return endpoint.name();
+            });
+            assertEquals("b", result);
+        }
+
+        assertEquals(List.of("a", "b", "b", "b"), calls);
+        assertEquals(1.0, meterRegistry.counter("wallet.upstream.failover", "pool", "test").count());
+    }
+
+    /**
+     * A client error should be returned as is without trying another upstream
+     */
+    @Test
+    public void testExecute_ClientErrorNotFailedOver() {
+        Endpoint a = new Endpoint("a", router.newHealth());
+        Endpoint b = new Endpoint("b", router.newHealth());
+
+        assertThrows(HttpClientErrorException.class, () -> router.execute("test", List.of(a, b), false, endpoint -> {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }));
+        assertEquals(EndpointHealth.State.CLOSED, a.health().state());
+        assertEquals(EndpointHealth.State.CLOSED, b.health().state());
+    }
+
+    /**
+     * With hedging on, a slow first upstream should be raced by the second one
+     */
+    @Test
+    public void testExecute_HedgesSlowUpstream() {
+        properties.setHedgeEnabled(true);
+        properties.setHedgeDefaultDelayMs(20);
+        properties.setHedgeMinDelayMs(1);
+        Endpoint slow = new Endpoint("slow", router.newHealth());
+        Endpoint fast = new Endpoint("fast", router.newHealth());
+        CountDownLatch release = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        String result = router.execute("test", List.of(slow, fast), true, endpoint -> {
+            if (endpoint == slow) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return endpoint.name();
+        });
+        release.countDown();
+
+        assertEquals("fast", result);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+        assertEquals(1.0, meterRegistry.counter("wallet.upstream.hedged", "pool", "test").count());
+    }
+
+    /**
+     * The losing hedged request should run to completion and not be counted as a failure of its endpoint
+     */
+    @Test
+    public void testExecute_HedgeLoserNotInterrupted() throws InterruptedException {
+        properties.setHedgeEnabled(true);
+        properties.setHedgeDefaultDelayMs(20);
+        properties.setHedgeMinDelayMs(1);
+        Endpoint slow = new Endpoint("slow", router.newHealth());
+        Endpoint fast = new Endpoint("fast", router.newHealth());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowDone = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        String result = router.execute("test", List.of(slow, fast), true, endpoint -> {
+            if (endpoint == slow) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw new IllegalStateException("interrupted");
+                } finally {
+                    slowDone.countDown();
+                }
+            }
+            return endpoint.name();
+        });
+        release.countDown();
+
+        assertEquals("fast", result);
+        assertTrue(slowDone.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+        assertEquals(EndpointHealth.State.CLOSED, slow.health().state());
+        assertEquals(0.0, slow.health().errorRate());
+    }
+}
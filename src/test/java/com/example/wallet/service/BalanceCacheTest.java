@@ -0,0 +1,93 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BalanceCacheTest {
+
+    private ChainHeadTracker chainHeadTracker;
+    private BalanceCache balanceCache;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    public void setUp() {
+        chainHeadTracker = mock(ChainHeadTracker.class);
+        balanceCache = new BalanceCache(chainHeadTracker, new CacheProperties(), new SimpleMeterRegistry());
+        upstreamCalls = new AtomicInteger();
+    }
+
+    /**
+     * Repeated ETH lookups within one block should hit upstream once
+     */
+    @Test
+    public void testEth_CachedWithinBlock() {
+        when(chainHeadTracker.head("sepolia")).thenReturn(100L);
+
+        String first = balanceCache.eth("sepolia", "0xAbC", () -> "wei-" + upstreamCalls.incrementAndGet());
+        String second = balanceCache.eth("sepolia", "0xabc", () -> "wei-" + upstreamCalls.incrementAndGet());
+
+        assertEquals("wei-1", first);
+        assertEquals("wei-1", second);
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    /**
+     * A new head should force a fresh ETH lookup
+     */
+    @Test
+    public void testEth_NewBlockInvalidates() {
+        when(chainHeadTracker.head("sepolia")).thenReturn(100L, 101L);
+
+        balanceCache.eth("sepolia", "0xabc", () -> "wei-" + upstreamCalls.incrementAndGet());
+        String afterNewBlock = balanceCache.eth("sepolia", "0xabc", () -> "wei-" + upstreamCalls.incrementAndGet());
+
+        assertEquals("wei-2", afterNewBlock);
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    /**
+     * Without a known head ETH lookups should not be cached
+     */
+    @Test
+    public void testEth_UnknownHeadBypassesCache() {
+        when(chainHeadTracker.head("sepolia")).thenReturn(-1L);
+
+        balanceCache.eth("sepolia", "0xabc", () -> "wei-" + upstreamCalls.incrementAndGet());
+        balanceCache.eth("sepolia", "0xabc", () -> "wei-" + upstreamCalls.incrementAndGet());
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    /**
+     * BTC lookups should be served from cache within the TTL
+     */
+    @Test
+    public void testBtc_CachedWithinTtl() {
+        balanceCache.btc("mainnet", "bc1q", () -> "sats-" + upstreamCalls.incrementAndGet());
+        String second = balanceCache.btc("mainnet", "bc1q", () -> "sats-" + upstreamCalls.incrementAndGet());
+
+        assertEquals("sats-1", second);
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    /**
+     * The loader should run outside the cache, so it may use the cache itself without deadlocking
+     */
+    @Test
+    public void testBtc_LoaderRunsOutsideCache() {
+        String balance = balanceCache.btc("mainnet", "bc1q",
+                () -> balanceCache.btc("mainnet", "bc1q", () -> "sats-" + upstreamCalls.incrementAndGet()));
+
+        assertEquals("sats-1", balance);
+        assertEquals("sats-1", balanceCache.btc("mainnet", "bc1q", () -> "sats-" + upstreamCalls.incrementAndGet()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.BulkProperties;
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.config.IAppProperties;
+import com.example.wallet.domain.AddressBalance;
+import com.example.wallet.infra.btc.IBtcClient;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.example.wallet.infra.eth.IEthClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class BalanceServiceTest {
+
+    private IEthClient ethClient;
+    private IBtcClient btcClient;
+    private BulkProperties bulkProperties;
+    private ExecutorService executor;
+    private BalanceService balanceService;
+
+    @BeforeEach
+    public void setUp() {
+        ethClient = mock(IEthClient.class);
+        btcClient = mock(IBtcClient.class);
+        bulkProperties = new BulkProperties();
+        executor = Executors.newFixedThreadPool(4);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BalanceCache balanceCache = new BalanceCache(mock(ChainHeadTracker.class), new CacheProperties(), meterRegistry);
+        balanceService = new BalanceService(ethClient, btcClient, mock(IAppProperties.class), bulkProperties, executor,
+                balanceCache, new SingleFlight(meterRegistry));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * BTC results should come back in request order with per-address errors
+     */
+    @Test
+    public void testBtcBalances_OrderedWithErrors() {
+        when(btcClient.getBalance(eq("mainnet"), anyString())).thenAnswer(invocation -> {
+            String address = invocation.getArgument(1);
+            if (address.equals("bad")) {
+                throw new RuntimeException("Failed to fetch BTC balance: 400");
+            }
+            // Earlier addresses finish later to exercise ordering
+            Thread.sleep(address.equals("a") ? 50 : 1);
+            return address + "-sats";
+        });
+
+        List<AddressBalance> results = new ArrayList<>();
+        balanceService.btcBalances("mainnet", List.of("a", "bad", "c", "d"), results::add);
+
+        assertEquals(List.of("a", "bad", "c", "d"), results.stream().map(AddressBalance::address).toList());
+        assertEquals("a-sats", results.get(0).balance());
+        assertNull(results.get(1).balance());
+        assertEquals("Failed to fetch BTC balance: 400", results.get(1).error());
+        assertEquals("d-sats", results.get(3).balance());
+    }
+
+    /**
+     * ETH addresses should be split into batches of the configured size
+     */
+    @Test
+    public void testEthBalances_SplitsIntoBatches() {
+        bulkProperties.setEthBatchSize(2);
+        when(ethClient.getBalances(eq("sepolia"), anyList())).thenAnswer(invocation -> {
+            List<String> batch = invocation.getArgument(1);
+            return batch.stream().map(address -> AddressBalance.of(address, "0x1")).toList();
+        });
+
+        List<AddressBalance> results = new ArrayList<>();
+        balanceService.ethBalances("sepolia", List.of("0x1", "0x2", "0x3", "0x4", "0x5"), results::add);
+
+        assertEquals(List.of("0x1", "0x2", "0x3", "0x4", "0x5"), results.stream().map(AddressBalance::address).toList());
+        verify(ethClient, times(3)).getBalances(eq("sepolia"), anyList());
+    }
+
+    /**
+     * A failed batch should turn into per-address errors instead of failing the whole request
+     */
+    @Test
+    public void testEthBalances_FailedBatch() {
+        when(ethClient.getBalances(eq("sepolia"), anyList())).thenThrow(new RuntimeException("Failed to fetch ETH balances: timeout"));
+
+        List<AddressBalance> results = new ArrayList<>();
+        balanceService.ethBalances("sepolia", List.of("0x1", "0x2"), results::add);
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(result -> result.error().contains("timeout")));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.domain.eth.TransactionStatusResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FinalizedTransactionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Only mined transactions past the finality depth should be cached
+     */
+    @Test
+    public void testPutIfFinalized_RequiresDepth() {
+        FinalizedTransactionCache cache = new FinalizedTransactionCache(new CacheProperties(), new SimpleMeterRegistry());
+
+        cache.putIfFinalized("sepolia", "0xaaa", status("0xaaa", "success", 10));
+        cache.putIfFinalized("sepolia", "0xbbb", status("0xbbb", "success", 64));
+        cache.putIfFinalized("sepolia", "0xccc", status("0xccc", "pending", 100));
+
+        assertNull(cache.get("sepolia", "0xaaa"));
+        assertEquals("0xbbb", cache.get("sepolia", "0xBBB").getTransactionHash());
+        assertNull(cache.get("sepolia", "0xccc"));
+        cache.close();
+    }
+
+    /**
+     * Entries evicted for size should be served back from the spill store
+     */
+    @Test
+    public void testGet_ReadsSpilledEntries() {
+        CacheProperties properties = new CacheProperties();
+        properties.getFinalizedTransactions().setMaxSize(1);
+        properties.getFinalizedTransactions().setSpillPath(tempDir.resolve("finalized.spill").toString());
+        properties.getFinalizedTransactions().setSpillCapacityMb(1);
+        FinalizedTransactionCache cache = new FinalizedTransactionCache(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            cache.putIfFinalized("mainnet", "0x" + i, status("0x" + i, "success", 100));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            TransactionStatusResponse status = cache.get("mainnet", "0x" + i);
+            assertNotNull(status, "missing 0x" + i);
+            assertEquals("success", status.getStatus());
+            assertEquals("12345", status.getBlockNumber());
+        }
+        cache.close();
+    }
+
+    /**
+     * A spill capacity that cannot be mapped should be rejected at startup
+     */
+    @Test
+    public void testSpillCapacity_UpperBound() {
+        CacheProperties properties = new CacheProperties();
+        properties.getFinalizedTransactions().setSpillPath(tempDir.resolve("finalized.spill").toString());
+        properties.getFinalizedTransactions().setSpillCapacityMb(2048);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new FinalizedTransactionCache(properties, new SimpleMeterRegistry()));
+    }
+
+    private TransactionStatusResponse status(String txHash, String state, int confirmations) {
+        TransactionStatusResponse status = new TransactionStatusResponse();
+        status.setTransactionHash(txHash);
+        status.setStatus(state);
+        status.setBlockNumber("12345");
+        status.setConfirmationCount(confirmations);
+        return status;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.GasOracleProperties;
+import com.example.wallet.domain.eth.GasFeeSnapshot;
+import com.example.wallet.domain.eth.GasFeeSuggestion;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.example.wallet.infra.eth.IEthClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class GasFeeOracleTest {
+
+    private IEthClient ethClient;
+    private GasOracleProperties gasOracleProperties;
+    private GasFeeOracle gasFeeOracle;
+    private ChainHeadTracker.HeadListener headListener;
+
+    @BeforeEach
+    public void setUp() {
+        ethClient = mock(IEthClient.class);
+        gasOracleProperties = new GasOracleProperties();
+        ChainHeadTracker chainHeadTracker = mock(ChainHeadTracker.class);
+        // Run refreshes on the calling thread
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+
+        gasFeeOracle = new GasFeeOracle(ethClient, chainHeadTracker, gasOracleProperties,
+                new SingleFlight(new SimpleMeterRegistry()), executor);
+        ArgumentCaptor<ChainHeadTracker.HeadListener> listener = ArgumentCaptor.forClass(ChainHeadTracker.HeadListener.class);
+        verify(chainHeadTracker).addListener(listener.capture());
+        headListener = listener.getValue();
+    }
+
+    /**
+     * The first call should build the snapshot and later calls be served from memory
+     */
+    @Test
+    public void testGet_BuildsSnapshotOnFirstCall() {
+        when(ethClient.getFeeHistorySuggestion("sepolia")).thenReturn(suggestion("10.0000"));
+
+        assertEquals("10.0000", gasFeeOracle.get("sepolia").baseFee());
+        assertEquals("10.0000", gasFeeOracle.get("sepolia").baseFee());
+
+        verify(ethClient, times(1)).getFeeHistorySuggestion("sepolia");
+    }
+
+    /**
+     * A new head should rebuild the snapshot of a network in use, and leave other networks alone
+     */
+    @Test
+    public void testNewHead_RefreshesSnapshot() {
+        when(ethClient.getFeeHistorySuggestion("sepolia")).thenReturn(suggestion("10.0000"), suggestion("12.0000"));
+        gasFeeOracle.get("sepolia");
+
+        headListener.onNewHead("sepolia", 100);
+        headListener.onNewHead("mainnet", 200);
+
+        assertEquals("12.0000", gasFeeOracle.get("sepolia").baseFee());
+        verify(ethClient, times(2)).getFeeHistorySuggestion("sepolia");
+        verify(ethClient, never()).getFeeHistorySuggestion("mainnet");
+    }
+
+    /**
+     * A snapshot older than the max age should be rebuilt on the calling thread
+     */
+    @Test
+    public void testGet_RebuildsStaleSnapshot() {
+        gasOracleProperties.setMaxAgeMs(-1);
+        when(ethClient.getFeeHistorySuggestion("sepolia")).thenReturn(suggestion("10.0000"), suggestion("12.0000"));
+
+        gasFeeOracle.get("sepolia");
+
+        assertEquals("12.0000", gasFeeOracle.get("sepolia").baseFee());
+        verify(ethClient, times(2)).getFeeHistorySuggestion("sepolia");
+    }
+
+    /**
+     * Callers should share the stored snapshot, an immutable copy of what the client built
+     */
+    @Test
+    public void testGet_ServesImmutableSnapshot() {
+        GasFeeSuggestion built = suggestion("10.0000");
+        when(ethClient.getFeeHistorySuggestion("sepolia")).thenReturn(built);
+
+        GasFeeSnapshot first = gasFeeOracle.get("sepolia");
+        built.setBaseFee("99.0000");
+        built.getFast().setMaxFee("99.0000");
+        GasFeeSnapshot second = gasFeeOracle.get("sepolia");
+
+        assertSame(first, second);
+        assertEquals("10.0000", second.baseFee());
+        assertEquals("15.0000", second.fast().maxFee());
+        assertEquals("3.0000", second.fast().maxPriorityFee());
+    }
+
+    private static GasFeeSuggestion suggestion(String baseFee) {
+        GasFeeSuggestion suggestion = new GasFeeSuggestion();
+        suggestion.setBaseFee(baseFee);
+        GasFeeSuggestion.GasFeeDetail fast = new GasFeeSuggestion.GasFeeDetail();
+        fast.setMaxFee("15.0000");
+        fast.setMaxPriorityFee("3.0000");
+        suggestion.setFast(fast);
+        return suggestion;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.TxTrackerProperties;
+import com.example.wallet.domain.eth.TransactionStatusResponse;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.example.wallet.infra.eth.IEthClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ReceiptTrackerTest {
+
+    private IEthClient ethClient;
+    private ReceiptTracker receiptTracker;
+
+    @BeforeEach
+    public void setUp() {
+        ethClient = mock(IEthClient.class);
+        receiptTracker = new ReceiptTracker(ethClient, new TxTrackerProperties(), mock(ChainHeadTracker.class),
+                mock(ExecutorService.class));
+    }
+
+    /**
+     * Untracked hashes should not be answered from memory
+     */
+    @Test
+    public void testLookup_Untracked() {
+        assertNull(receiptTracker.lookup("sepolia", "0xabc"));
+    }
+
+    /**
+     * All pending hashes of the network should be polled in one batch and mined ones recorded
+     */
+    @Test
+    public void testPoll_RecordsMinedTransactions() {
+        TransactionStatusResponse mined = new TransactionStatusResponse();
+        mined.setTransactionHash("0xaaa");
+        mined.setStatus("success");
+        when(ethClient.getTransactionReceipts(eq("sepolia"), anyList())).thenReturn(Map.of("0xaaa", mined));
+
+        receiptTracker.track("sepolia", "0xaaa", "0xfrom", "0xto", "1000");
+        receiptTracker.track("sepolia", "0xbbb", "0xfrom", "0xto", "2000");
+        receiptTracker.track("mainnet", "0xccc", null, null, null);
+        receiptTracker.pollNetwork("sepolia");
+
+        verify(ethClient, times(1)).getTransactionReceipts(eq("sepolia"),
+                argThat(hashes -> hashes.size() == 2 && hashes.containsAll(List.of("0xaaa", "0xbbb"))));
+        verify(ethClient, never()).getTransactionReceipts(eq("mainnet"), anyList());
+        assertEquals("success", receiptTracker.lookup("sepolia", "0xAAA").getStatus());
+        TransactionStatusResponse pending = receiptTracker.lookup("sepolia", "0xbbb");
+        assertEquals("pending", pending.getStatus());
+        assertEquals("2000", pending.getValue());
+    }
+
+    /**
+     * A mined status should keep the value known from the broadcast alongside the receipt fields
+     */
+    @Test
+    public void testPoll_KeepsTrackedFields() {
+        TransactionStatusResponse mined = new TransactionStatusResponse();
+        mined.setTransactionHash("0xaaa");
+        mined.setFrom("0xfrom");
+        mined.setTo("0xto");
+        mined.setGasPrice("20000000000");
+        mined.setStatus("success");
+        when(ethClient.getTransactionReceipts(eq("sepolia"), anyList())).thenReturn(Map.of("0xaaa", mined));
+
+        receiptTracker.track("sepolia", "0xaaa", "0xfrom", "0xto", "1000");
+        receiptTracker.pollNetwork("sepolia");
+
+        TransactionStatusResponse status = receiptTracker.lookup("sepolia", "0xaaa");
+        assertEquals("success", status.getStatus());
+        assertEquals("0xfrom", status.getFrom());
+        assertEquals("0xto", status.getTo());
+        assertEquals("1000", status.getValue());
+        assertEquals("20000000000", status.getGasPrice());
+    }
+
+    /**
+     * Mined transactions should not be polled again
+     */
+    @Test
+    public void testPoll_SkipsMinedTransactions() {
+        TransactionStatusResponse mined = new TransactionStatusResponse();
+        mined.setStatus("success");
+        when(ethClient.getTransactionReceipts(eq("sepolia"), anyList())).thenReturn(Map.of("0xaaa", mined));
+
+        receiptTracker.track("sepolia", "0xaaa", null, null, null);
+        receiptTracker.pollNetwork("sepolia");
+        receiptTracker.pollNetwork("sepolia");
+
+        verify(ethClient, times(1)).getTransactionReceipts("sepolia", List.of("0xaaa"));
+    }
+
+    /**
+     * A transaction still pending after the grace period should be left to the node, which may no longer know it
+     */
+    @Test
+    public void testLookup_PendingBeyondGracePeriod() throws InterruptedException {
+        TxTrackerProperties properties = new TxTrackerProperties();
+        properties.setPendingGraceSeconds(0);
+        receiptTracker = new ReceiptTracker(ethClient, properties, mock(ChainHeadTracker.class),
+                mock(ExecutorService.class));
+
+        receiptTracker.track("sepolia", "0xaaa", "0xfrom", "0xto", "1000");
+        Thread.sleep(5);
+
+        assertNull(receiptTracker.lookup("sepolia", "0xaaa"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.wallet.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Concurrent identical calls should share one upstream call and be counted as deduplicated
+     */
+    @Test
+    public void testExecute_CoalescesConcurrentCalls() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("op", "key", () -> {
+            upstreamCalls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("op", "key", () -> {
+                upstreamCalls.incrementAndGet();
+                return "other";
+            })));
+        }
+        // Wait until every follower has joined the in-flight call
+        while (meterRegistry.counter("wallet.singleflight.deduplicated", "operation", "op").count() < 3) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    /**
+     * A failure should not be remembered once the call has completed
+     */
+    @Test
+    public void testExecute_FailureNotCached() {
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> singleFlight.execute("op", "key", () -> { throw new RuntimeException("Failed to fetch: timeout"); }));
+        assertEquals("Failed to fetch: timeout", exception.getMessage());
+
+        assertEquals("ok", singleFlight.execute("op", "key", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.IAppProperties;
+import com.example.wallet.config.SubscriptionProperties;
+import com.example.wallet.domain.AddressBalance;
+import com.example.wallet.domain.BalanceResponse;
+import com.example.wallet.domain.eth.ChainHead;
+import com.example.wallet.domain.eth.TransactionStatusResponse;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.example.wallet.infra.eth.IEthClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SubscriptionServiceTest {
+
+    private static final String ALICE = "0x742d35Cc6634C0532925a3b844Bc454e4438f44e";
+    private static final String BOB = "0x95222290DD7278Aa3Ddd389Cc1E1d165CC4BAfe5";
+
+    private IEthClient ethClient;
+    private SubscriptionService subscriptionService;
+    private ChainHeadTracker.HeadListener headListener;
+
+    @BeforeEach
+    public void setUp() {
+        ethClient = mock(IEthClient.class);
+        IAppProperties appProperties = mock(IAppProperties.class);
+        IAppProperties.Rpc rpc = mock(IAppProperties.Rpc.class);
+        when(appProperties.getRpc()).thenReturn(rpc);
+        when(rpc.getEth()).thenReturn(Map.of("sepolia", "http://localhost:8545", "mainnet", "http://localhost:8546"));
+        ChainHeadTracker chainHeadTracker = mock(ChainHeadTracker.class);
+        when(chainHeadTracker.head(any())).thenReturn(-1L);
+        // Run refreshes on the calling thread
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+
+        subscriptionService = new SubscriptionService(ethClient, appProperties, new SubscriptionProperties(),
+                chainHeadTracker, executor, new SimpleMeterRegistry());
+        ArgumentCaptor<ChainHeadTracker.HeadListener> listener = ArgumentCaptor.forClass(ChainHeadTracker.HeadListener.class);
+        verify(chainHeadTracker).addListener(listener.capture());
+        headListener = listener.getValue();
+    }
+
+    /**
+     * Current balances should be sent on subscribe, keeping the address as the client gave it
+     */
+    @Test
+    public void testSubscribe_SendsInitialBalances() throws IOException {
+        givenBalances("0x10");
+        SseEmitter emitter = mock(SseEmitter.class);
+
+        subscriptionService.register("sepolia", List.of(ALICE), List.of(), emitter);
+
+        verify(ethClient).getBalances("sepolia", List.of(ALICE.toLowerCase()));
+        assertEquals(List.of(new BalanceResponse("ETH", "sepolia", ALICE, "0x10")), events(emitter));
+        assertEquals(1, subscriptionService.subscriberCount());
+    }
+
+    /**
+     * Subscribers of a network should share one balance lookup per block, with duplicate addresses fetched once
+     */
+    @Test
+    public void testNewHead_SharesOneBatch() throws IOException {
+        givenBalances("0x10");
+        subscriptionService.register("sepolia", List.of(ALICE), List.of(), mock(SseEmitter.class));
+        subscriptionService.register("sepolia", List.of(ALICE.toLowerCase(), BOB), List.of(), mock(SseEmitter.class));
+        subscriptionService.register("mainnet", List.of(BOB), List.of(), mock(SseEmitter.class));
+        clearInvocations(ethClient);
+
+        headListener.onNewHead("sepolia", 100);
+
+        // Subscribers are kept in a concurrent set, so the batch order is not defined
+        verify(ethClient, times(1)).getBalances(eq("sepolia"), argThat(batch -> batch.size() == 2
+                && Set.copyOf(batch).equals(Set.of(ALICE.toLowerCase(), BOB.toLowerCase()))));
+        verify(ethClient, never()).getBalances(eq("mainnet"), anyList());
+    }
+
+    /**
+     * A new block should only push balances that changed since the last event
+     */
+    @Test
+    public void testNewHead_SendsOnlyChanges() throws IOException {
+        givenBalances("0x10");
+        SseEmitter emitter = mock(SseEmitter.class);
+        subscriptionService.register("sepolia", List.of(ALICE), List.of(), emitter);
+
+        headListener.onNewHead("sepolia", 100);
+        givenBalances("0x20");
+        headListener.onNewHead("sepolia", 101);
+
+        assertEquals(List.of(
+                new BalanceResponse("ETH", "sepolia", ALICE, "0x10"),
+                new ChainHead("sepolia", 100),
+                new ChainHead("sepolia", 101),
+                new BalanceResponse("ETH", "sepolia", ALICE, "0x20")), events(emitter));
+    }
+
+    /**
+     * A mined transaction should be pushed once, and a stream with nothing left to watch completed
+     */
+    @Test
+    public void testNewHead_CompletesWhenMined() throws IOException {
+        TransactionStatusResponse mined = new TransactionStatusResponse();
+        mined.setTransactionHash("0xabc");
+        mined.setStatus("success");
+        when(ethClient.getTransactionReceipts(eq("sepolia"), anyList())).thenReturn(Map.of());
+        SseEmitter emitter = mock(SseEmitter.class);
+        subscriptionService.register("sepolia", List.of(), List.of("0xABC"), emitter);
+
+        when(ethClient.getTransactionReceipts("sepolia", List.of("0xabc"))).thenReturn(Map.of("0xabc", mined));
+        headListener.onNewHead("sepolia", 100);
+        headListener.onNewHead("sepolia", 101);
+
+        assertEquals(List.of(new ChainHead("sepolia", 100), mined), events(emitter));
+        verify(emitter).complete();
+        assertEquals(0, subscriptionService.subscriberCount());
+    }
+
+    /**
+     * A subscriber whose connection is gone should be dropped
+     */
+    @Test
+    public void testNewHead_DropsDisconnectedSubscriber() throws IOException {
+        givenBalances("0x10");
+        SseEmitter emitter = mock(SseEmitter.class);
+        subscriptionService.register("sepolia", List.of(ALICE), List.of(), emitter);
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        headListener.onNewHead("sepolia", 100);
+
+        assertEquals(0, subscriptionService.subscriberCount());
+    }
+
+    /**
+     * A client that does not keep up should be disconnected once its queue is full, without the refresh
+     * ever writing to it
+     */
+    @Test
+    public void testNewHead_DropsSlowSubscriber() throws IOException {
+        givenBalances("0x10");
+        IAppProperties appProperties = mock(IAppProperties.class);
+        IAppProperties.Rpc rpc = mock(IAppProperties.Rpc.class);
+        when(appProperties.getRpc()).thenReturn(rpc);
+        when(rpc.getEth()).thenReturn(Map.of("sepolia", "http://localhost:8545"));
+        ChainHeadTracker chainHeadTracker = mock(ChainHeadTracker.class);
+        when(chainHeadTracker.head(any())).thenReturn(-1L);
+        SubscriptionProperties properties = new SubscriptionProperties();
+        properties.setMaxPendingEvents(2);
+        // Hold every task, so queued events are never sent
+        List<Runnable> tasks = new ArrayList<>();
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any());
+        SubscriptionService service = new SubscriptionService(ethClient, appProperties, properties,
+                chainHeadTracker, executor, new SimpleMeterRegistry());
+        SseEmitter emitter = mock(SseEmitter.class);
+        service.register("sepolia", List.of(ALICE), List.of(), emitter);
+
+        service.refreshNetwork("sepolia", 100);
+        assertEquals(1, service.subscriberCount());
+        service.refreshNetwork("sepolia", 101);
+
+        verify(emitter, never()).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+        assertEquals(0, service.subscriberCount());
+    }
+
+    /**
+     * Unknown networks and empty subscriptions should be rejected
+     */
+    @Test
+    public void testSubscribe_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> subscriptionService.register("goerli", List.of(ALICE),
+                List.of(), mock(SseEmitter.class)));
+        assertThrows(IllegalArgumentException.class, () -> subscriptionService.register("sepolia", List.of(),
+                List.of(), mock(SseEmitter.class)));
+        assertEquals(0, subscriptionService.subscriberCount());
+    }
+
+    private void givenBalances(String wei) {
+        when(ethClient.getBalances(eq("sepolia"), anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(1)
+                .stream().map(address -> AddressBalance.of(address, wei)).toList());
+    }
+
+    /**
+     * The payloads sent to an emitter, in order, without the SSE framing
+     */
+    private static List<Object> events(SseEmitter emitter) throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> captor = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, atLeast(0)).send(captor.capture());
+        List<Object> payloads = new ArrayList<>();
+        for (SseEmitter.SseEventBuilder event : captor.getAllValues()) {
+            event.build().stream()
+                    .map(data -> data.getData())
+                    .filter(data -> !(data instanceof String))
+                    .forEach(payloads::add);
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.wallet.service;
+
+import com.example.wallet.domain.eth.TokenTransferRequest;
+import com.example.wallet.domain.eth.TokenTransferResponse;
+import com.example.wallet.domain.eth.TransactionStatusResponse;
+import com.example.wallet.infra.eth.ChainHeadTracker;
+import com.example.wallet.infra.eth.IEthClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TransactionServiceTest {
+
+    private IEthClient ethClient;
+    private ChainHeadTracker chainHeadTracker;
+    private ReceiptTracker receiptTracker;
+    private FinalizedTransactionCache finalizedTransactionCache;
+    private TransactionService transactionService;
+
+    @BeforeEach
+    public void setUp() {
+        ethClient = mock(IEthClient.class);
+        chainHeadTracker = mock(ChainHeadTracker.class);
+        receiptTracker = mock(ReceiptTracker.class);
+        finalizedTransactionCache = mock(FinalizedTransactionCache.class);
+        transactionService = new TransactionService(ethClient, mock(SingleFlight.class),
+                mock(GasFeeOracle.class), receiptTracker, chainHeadTracker, finalizedTransactionCache);
+    }
+
+    /**
+     * Each lookup should get its own confirmation count without modifying the cached status
+     */
+    @Test
+    public void testGetTransactionStatus_DoesNotModifyCachedStatus() {
+        TransactionStatusResponse cached = mined();
+        when(finalizedTransactionCache.get("sepolia", "0xabc")).thenReturn(cached);
+        when(chainHeadTracker.currentHead("sepolia")).thenReturn(200L, 300L);
+
+        TransactionStatusResponse first = transactionService.getTransactionStatus("sepolia", "0xabc");
+        TransactionStatusResponse second = transactionService.getTransactionStatus("sepolia", "0xabc");
+
+        assertEquals(100, first.getConfirmationCount());
+        assertEquals(200, second.getConfirmationCount());
+        assertNull(cached.getConfirmationCount());
+        assertEquals("0x5208", second.getGasUsed());
+    }
+
+    /**
+     * A tracked status shared with the receipt tracker should not be modified either
+     */
+    @Test
+    public void testGetTransactionStatus_DoesNotModifyTrackedStatus() {
+        TransactionStatusResponse tracked = mined();
+        when(receiptTracker.lookup("sepolia", "0xabc")).thenReturn(tracked);
+        when(chainHeadTracker.currentHead("sepolia")).thenReturn(110L);
+
+        TransactionStatusResponse status = transactionService.getTransactionStatus("sepolia", "0xabc");
+
+        assertEquals(10, status.getConfirmationCount());
+        assertNotSame(tracked, status);
+        assertNull(tracked.getConfirmationCount());
+        verify(finalizedTransactionCache).putIfFinalized("sepolia", "0xabc", status);
+    }
+
+    /**
+     * A token transfer should be tracked with the contract as recipient and the ETH value the signature commits to,
+     * not the informational recipient and token amount of the request
+     */
+    @Test
+    public void testSendTokenTransaction_TracksSignedFields() {
+        Credentials credentials = Credentials.create("0x4646464646464646464646464646464646464646464646464646464646464646");
+        String contract = "0x1c7d4b196cb0c7b01d743fbc6116a902379c7238";
+        RawTransaction raw = RawTransaction.createTransaction(11155111L, BigInteger.ONE,
+                BigInteger.valueOf(60000), contract, BigInteger.ZERO, "0xa9059cbb", BigInteger.ONE, BigInteger.TEN);
+        TokenTransferRequest request = new TokenTransferRequest();
+        request.setSignedTransaction(Numeric.toHexString(TransactionEncoder.signMessage(raw, 11155111L, credentials)));
+        request.setFrom("0x000000000000000000000000000000000000dEaD");
+        request.setTo("0x000000000000000000000000000000000000bEEF");
+        request.setValue("5000000");
+        TokenTransferResponse response = new TokenTransferResponse();
+        response.setTransactionHash("0xabc");
+        when(ethClient.sendTokenTransaction("sepolia", request)).thenReturn(response);
+
+        transactionService.sendTokenTransaction("sepolia", request);
+
+        verify(receiptTracker).track("sepolia", "0xabc", credentials.getAddress(), contract, "0");
+    }
+
+    /**
+     * A signed transaction that cannot be decoded should be tracked without from/to/value
+     */
+    @Test
+    public void testSendTokenTransaction_UndecodableTransaction() {
+        TokenTransferRequest request = new TokenTransferRequest();
+        request.setSignedTransaction("0x1234");
+        request.setValue("5000000");
+        TokenTransferResponse response = new TokenTransferResponse();
+        response.setTransactionHash("0xabc");
+        when(ethClient.sendTokenTransaction("sepolia", request)).thenReturn(response);
+
+        transactionService.sendTokenTransaction("sepolia", request);
+
+        verify(receiptTracker).track("sepolia", "0xabc", null, null, null);
+    }
+
+    private TransactionStatusResponse mined() {
+        TransactionStatusResponse status = new TransactionStatusResponse();
+        status.setTransactionHash("0xabc");
+        status.setStatus("success");
+        status.setBlockNumber("100");
+        status.setGasUsed("0x5208");
+        return status;
+    }
+}
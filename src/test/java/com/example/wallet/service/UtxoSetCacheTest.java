@@ -0,0 +1,118 @@
+package com.example.wallet.service;
+
+import com.example.wallet.config.CacheProperties;
+import com.example.wallet.domain.btc.Utxo;
+import com.example.wallet.infra.btc.AddressTransaction;
+import com.example.wallet.infra.btc.IBtcClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UtxoSetCacheTest {
+
+    private static final String ADDRESS = "bc1qtest";
+
+    private IBtcClient btcClient;
+    private UtxoSetCache utxoSetCache;
+
+    @BeforeEach
+    public void setUp() {
+        btcClient = mock(IBtcClient.class);
+        when(btcClient.supportsTransactionCursor("mainnet")).thenReturn(true);
+        when(btcClient.getMempoolTransactions("mainnet", ADDRESS)).thenReturn(List.of());
+        CacheProperties properties = new CacheProperties();
+        properties.getUtxoSet().setRefreshIntervalSeconds(0);
+        utxoSetCache = new UtxoSetCache(btcClient, properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * After the first full load only new chain transactions should be fetched and applied
+     */
+    @Test
+    public void testGet_AppliesNewTransactionsIncrementally() {
+        when(btcClient.getChainTransactions("mainnet", ADDRESS, null))
+                .thenReturn(List.of(tx("a1", List.of(), List.of(utxo("a1", 0, 1000)))))
+                .thenReturn(List.of(
+                        tx("c1", List.of("b1:1"), List.of()),
+                        tx("b1", List.of("a1:0"), List.of(utxo("b1", 1, 700))),
+                        tx("a1", List.of(), List.of(utxo("a1", 0, 1000)))));
+        when(btcClient.getUtxos("mainnet", ADDRESS)).thenReturn(List.of(utxo("a1", 0, 1000), utxo("z9", 3, 50)));
+
+        assertEquals(Set.of("a1:0", "z9:3"), outpoints(utxoSetCache.get("mainnet", ADDRESS)));
+        // b1 spends a1:0 and creates b1:1, which c1 spends in the same batch
+        assertEquals(Set.of("z9:3"), outpoints(utxoSetCache.get("mainnet", ADDRESS)));
+
+        verify(btcClient, times(1)).getUtxos("mainnet", ADDRESS);
+    }
+
+    /**
+     * Mempool outputs should be overlaid as unconfirmed without entering the confirmed set
+     */
+    @Test
+    public void testGet_OverlaysMempool() {
+        when(btcClient.getChainTransactions("mainnet", ADDRESS, null))
+                .thenReturn(List.of(tx("a1", List.of(), List.of(utxo("a1", 0, 1000)))));
+        when(btcClient.getUtxos("mainnet", ADDRESS)).thenReturn(List.of(utxo("a1", 0, 1000)));
+        Utxo pending = new Utxo("m1", 0, 900, false, null);
+        when(btcClient.getMempoolTransactions("mainnet", ADDRESS))
+                .thenReturn(List.of(tx("m1", List.of("a1:0"), List.of(pending))))
+                .thenReturn(List.of());
+
+        List<Utxo> utxos = utxoSetCache.get("mainnet", ADDRESS);
+        assertEquals(List.of(pending), utxos);
+
+        assertEquals(Set.of("a1:0"), outpoints(utxoSetCache.get("mainnet", ADDRESS)));
+    }
+
+    /**
+     * A cursor that no longer appears in the chain history should force a full reload
+     */
+    @Test
+    public void testGet_ReloadsWhenCursorLost() {
+        when(btcClient.getChainTransactions("mainnet", ADDRESS, null))
+                .thenReturn(List.of(tx("a1", List.of(), List.of(utxo("a1", 0, 1000)))))
+                .thenReturn(List.of(tx("b1", List.of(), List.of(utxo("b1", 0, 500)))));
+        when(btcClient.getChainTransactions("mainnet", ADDRESS, "b1")).thenReturn(List.of());
+        when(btcClient.getUtxos("mainnet", ADDRESS))
+                .thenReturn(List.of(utxo("a1", 0, 1000)))
+                .thenReturn(List.of(utxo("b1", 0, 500)));
+
+        utxoSetCache.get("mainnet", ADDRESS);
+        assertEquals(Set.of("b1:0"), outpoints(utxoSetCache.get("mainnet", ADDRESS)));
+
+        verify(btcClient, times(2)).getUtxos("mainnet", ADDRESS);
+    }
+
+    /**
+     * Providers without a transaction cursor should be passed through uncached
+     */
+    @Test
+    public void testGet_PassesThroughWithoutCursor() {
+        when(btcClient.getUtxos("blockcypher", ADDRESS)).thenReturn(List.of(utxo("a1", 0, 1000)));
+
+        utxoSetCache.get("blockcypher", ADDRESS);
+        utxoSetCache.get("blockcypher", ADDRESS);
+
+        verify(btcClient, times(2)).getUtxos("blockcypher", ADDRESS);
+        verify(btcClient, never()).getChainTransactions(anyString(), anyString(), any());
+    }
+
+    private static AddressTransaction tx(String txid, List<String> spent, List<Utxo> outputs) {
+        return new AddressTransaction(txid, spent, outputs);
+    }
+
+    private static Utxo utxo(String txid, int vout, long value) {
+        return new Utxo(txid, vout, value, true, 840000L);
+    }
+
+    private static Set<String> outpoints(List<Utxo> utxos) {
+        return utxos.stream().map(u -> u.txid() + ":" + u.vout()).collect(Collectors.toSet());
+    }
+}